@@ -24,22 +24,52 @@ import jidefx.utils.TypeUtils;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * {@code CacheMap} is a two-level {@code HashMap}. It uses Class as the key and you can map the key to an
  * object and a context as a pair. We use context because we want to register multiple objects with the same Class.
  * {@link #register(Class, Object, Object)} is the method to register a new entry. {@link #getRegisteredObject(Class,
  * Object)} will allow you to look up the object by specifying the Class and the context.
+ * <p>
+ * {@code CacheMap} is thread safe. The lookups never lock. The registrations are copied on write, which is fine as
+ * they rarely change after the startup.
  */
 public class CacheMap<T, K> {
 
-    private HashMap<Class<?>, Cache<K, T>> _cache = new HashMap<>();
+    // an immutable snapshot of the registrations. The writers copy it, so the readers never lock.
+    private volatile Map<Class<?>, Cache<K, T>> _cache = Collections.emptyMap();
 
     private K _defaultContext; // used for fallback lookup.
 
+    // the results of getRegisteredObject. They are only valid if their generation is the current one. The ClassValue
+    // keeps them with the class itself, so looking up a class doesn't prevent its class loader from being unloaded.
+    private final ClassValue<ConcurrentHashMap<Object, Resolved<T>>> _resolved =
+            new ClassValue<ConcurrentHashMap<Object, Resolved<T>>>() {
+                @Override
+                protected ConcurrentHashMap<Object, Resolved<T>> computeValue(Class<?> type) {
+                    synchronized (_resolvedClasses) {
+                        _resolvedClasses.put(type, Boolean.TRUE);
+                    }
+                    return new ConcurrentHashMap<>();
+                }
+            };
+    // the classes that have results in _resolved, so the results can be dropped once the registrations change instead
+    // of keeping the old objects and contexts until the class is looked up again.
+    private final Map<Class<?>, Boolean> _resolvedClasses = new WeakHashMap<>();
+    private volatile int _generation;
+
+    // the maximum number of contexts whose results are kept for a class
+    private static final int MAX_RESOLVED_CONTEXTS = 32;
+
+    private static final Object NULL_CONTEXT = new Object();
+
     /**
      * Constructs a {@code CacheMap}.
      *
@@ -52,6 +82,13 @@ public class CacheMap<T, K> {
     static class Cache<K, T> extends HashMap<K, T> {
         private static final long serialVersionUID = 7764545350468551102L;
 
+        Cache() {
+        }
+
+        Cache(Map<K, T> cache) {
+            super(cache);
+        }
+
         public T getObject(K context) {
             return get(context);
         }
@@ -66,6 +103,34 @@ public class CacheMap<T, K> {
         }
     }
 
+    /**
+     * A result of {@link #getRegisteredObject(Class, Object)} and the generation of the registrations it was resolved
+     * from.
+     */
+    private static class Resolved<T> {
+        private final T _object;
+        private final int _generation;
+
+        Resolved(T object, int generation) {
+            _object = object;
+            _generation = generation;
+        }
+    }
+
+    /**
+     * Invalidates all the results of {@link #getRegisteredObject(Class, Object)} that were memoized so far and drops
+     * them.
+     */
+    private void invalidate() {
+        _generation++;
+        synchronized (_resolvedClasses) {
+            for (Class<?> clazz : _resolvedClasses.keySet()) {
+                _resolved.remove(clazz);
+            }
+            _resolvedClasses.clear();
+        }
+    }
+
     protected Cache<K, T> getCache(Class<?> clazz) {
         if (clazz == null) {
             throw new IllegalArgumentException("Clazz cannot be null");
@@ -91,18 +156,38 @@ public class CacheMap<T, K> {
         }
     }
 
-    protected Cache<K, T> initCache(Class<?> clazz) {
+    protected synchronized Cache<K, T> initCache(Class<?> clazz) {
         Cache<K, T> cache = getCache(clazz);
         if (cache != null) {
             return cache;
         }
         else {
             cache = new Cache<>();
-            _cache.put(clazz, cache);
+            HashMap<Class<?>, Cache<K, T>> caches = new HashMap<>(_cache);
+            caches.put(clazz, cache);
+            _cache = caches;
             return cache;
         }
     }
 
+    /**
+     * Publishes a new snapshot of the registrations with the cache of the class replaced.
+     *
+     * @param clazz the class
+     * @param cache the new cache of the class. Null or empty to remove the class.
+     */
+    private void putCache(Class<?> clazz, Cache<K, T> cache) {
+        HashMap<Class<?>, Cache<K, T>> caches = new HashMap<>(_cache);
+        if (cache == null || cache.size() == 0) {
+            caches.remove(clazz);
+        }
+        else {
+            caches.put(clazz, cache);
+        }
+        _cache = caches;
+        invalidate();
+    }
+
     /**
      * Registers an object with the specified clazz and object.
      *
@@ -111,7 +196,7 @@ public class CacheMap<T, K> {
      * @param context the secondary key. It is used to register multiple objects to the same primary key (the clazz
      *                parameter in this case).
      */
-    public void register(Class<?> clazz, T object, K context) {
+    public synchronized void register(Class<?> clazz, T object, K context) {
         if (clazz == null) {
             throw new IllegalArgumentException("Parameter clazz cannot be null");
         }
@@ -122,8 +207,10 @@ public class CacheMap<T, K> {
             register(primitiveType, object, context);
         }
 
-        Cache<K, T> cache = initCache(clazz);
+        Cache<K, T> cache = getCache(clazz);
+        cache = cache != null ? new Cache<>(cache) : new Cache<>();
         cache.setObject(context, object);
+        putCache(clazz, cache);
     }
 
     /**
@@ -132,13 +219,12 @@ public class CacheMap<T, K> {
      * @param clazz   the class
      * @param context the context
      */
-    public void unregister(Class<?> clazz, K context) {
+    public synchronized void unregister(Class<?> clazz, K context) {
         Cache<K, T> cache = getCache(clazz);
         if (cache != null) {
+            cache = new Cache<>(cache);
             cache.setObject(context, null);
-            if (cache.size() == 0) {
-                _cache.remove(clazz);
-            }
+            putCache(clazz, cache);
         }
     }
 
@@ -159,7 +245,26 @@ public class CacheMap<T, K> {
             return null;
         }
 
-        Cache<K, T> cache = getCache(clazz);
+        // the result is memoized until the registrations change. The generation is read before the registrations, so
+        // a result is never kept with a newer generation than the registrations it was resolved from.
+        int generation = _generation;
+        Map<Class<?>, Cache<K, T>> caches = _cache;
+        ConcurrentHashMap<Object, Resolved<T>> resolvedForClass = _resolved.get(clazz);
+        Object key = context != null ? context : NULL_CONTEXT;
+        Resolved<T> resolved = resolvedForClass.get(key);
+        if (resolved != null && resolved._generation == generation) {
+            return resolved._object;
+        }
+        T object = resolveRegisteredObject(caches, clazz, context);
+        if (resolved == null && resolvedForClass.size() >= MAX_RESOLVED_CONTEXTS) {
+            resolvedForClass.clear();
+        }
+        resolvedForClass.put(key, new Resolved<>(object, generation));
+        return object;
+    }
+
+    private T resolveRegisteredObject(Map<Class<?>, Cache<K, T>> caches, Class<?> clazz, K context) {
+        Cache<K, T> cache = caches.get(clazz);
 
         if (cache == null || !cache.containsKey(context)) {
             List<Class<?>> classesToSearch = new ArrayList<>();
@@ -194,7 +299,7 @@ public class CacheMap<T, K> {
 
             // search to match context first
             for (Class<?> c : classesToSearch) {
-                Cache<K, T> cacheForClass = getCache(c);
+                Cache<K, T> cacheForClass = caches.get(c);
                 if (cacheForClass != null) {
                     T object = cacheForClass.getObject(context);
                     if (object != null) {
@@ -206,7 +311,7 @@ public class CacheMap<T, K> {
             // fall back to default context
             if (!_defaultContext.equals(context)) {
                 for (Class<?> c : classesToSearch) {
-                    Cache<K, T> cacheForClass = getCache(c);
+                    Cache<K, T> cacheForClass = caches.get(c);
                     if (cacheForClass != null) {
                         T object = cacheForClass.getObject(_defaultContext);
                         if (object != null) {
@@ -220,7 +325,7 @@ public class CacheMap<T, K> {
         if (cache != null) {
             T object = cache.getObject(context);
             if (object == null && !_defaultContext.equals(context)) {
-                return getRegisteredObject(clazz, _defaultContext);
+                return resolveRegisteredObject(caches, clazz, _defaultContext);
             }
             if (object != null) {
                 return object;
@@ -285,19 +390,14 @@ public class CacheMap<T, K> {
      *
      * @param clazz the class
      */
-    @SuppressWarnings("unchecked")
-    public void remove(Class<?> clazz) {
-        Cache<K, T> cache = getCache(clazz);
-        if (cache != null) {
-            Object[] keys = cache.keySet().toArray();
-            for (Object context : keys) {
-                cache.setObject((K) context, null);
-            }
+    public synchronized void remove(Class<?> clazz) {
+        if (getCache(clazz) != null) {
+            putCache(clazz, null);
         }
-        _cache.remove(clazz);
     }
 
-    public void clear() {
-        _cache.clear();
+    public synchronized void clear() {
+        _cache = Collections.emptyMap();
+        invalidate();
     }
 }
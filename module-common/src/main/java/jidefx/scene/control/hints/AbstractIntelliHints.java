@@ -30,11 +30,14 @@ import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
+import javafx.concurrent.Task;
+import javafx.concurrent.WorkerStateEvent;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
 import javafx.geometry.Bounds;
 import javafx.geometry.Point2D;
 import javafx.scene.Node;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.TextArea;
 import javafx.scene.control.TextInputControl;
 import javafx.scene.input.KeyCombination;
@@ -45,6 +48,10 @@ import javafx.util.Duration;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
@@ -70,6 +77,15 @@ public abstract class AbstractIntelliHints<T> implements IntelliHints<T> {
     private ObjectProperty<Duration> _showHintsDelayProperty;
     private List<KeyCombination> _showHintsKeyStrokes;
 
+    // the hints computed in the background, only used when asyncHints is true
+    private BooleanProperty _asyncHintsProperty;
+    private ObjectProperty<Node> _loadingPlaceholderProperty;
+    private Task<List<T>> _hintsTask;
+
+    private HintUsageStatistics _usageStatistics;
+
+    private static ExecutorService _executor;
+
     /**
      * Creates an IntelliHints object for a given TextInputControl such as TextField or TextArea.
      *
@@ -177,25 +193,132 @@ public abstract class AbstractIntelliHints<T> implements IntelliHints<T> {
                 public void handle(MouseEvent event) {
                     hideHintsPopup();
                     setHintsEnabled(false);
-                    acceptHint(getSelectedHint());
+                    T hint = getSelectedHint();
+                    recordUsage(hint);
+                    acceptHint(hint);
                     setHintsEnabled(true);
                 }
             });
         }
 
-        if (updateHints(getContext())) {
-            TextInputControl control = getTextInputControl();
-            Bounds bounds = control.getBoundsInLocal();
-            Point2D d = control.localToScreen(bounds.getMinX(), bounds.getMaxY());
-            if (!_popup.isShowing()) {
-                _popup.show(control, d.getX(), d.getY());
-            }
+        if (isAsyncHints()) {
+            startHintsTask(getContext());
+            setLoading(true);
+            showPopup();
+        }
+        else if (updateHints(getContext())) {
+            showPopup();
         }
         else {
             hideHintsPopup();
         }
     }
 
+    private void showPopup() {
+        TextInputControl control = getTextInputControl();
+        Bounds bounds = control.getBoundsInLocal();
+        Point2D d = control.localToScreen(bounds.getMinX(), bounds.getMaxY());
+        if (!_popup.isShowing()) {
+            _popup.show(control, d.getX(), d.getY());
+        }
+    }
+
+    /**
+     * Starts computing the hints of the context in the background. The task that is still computing the hints of the
+     * previous context is cancelled and its result will be discarded.
+     *
+     * @param context the context
+     */
+    private void startHintsTask(final Object context) {
+        cancelHintsTask();
+        final Task<List<T>> task = new Task<List<T>>() {
+            @Override
+            protected List<T> call() throws Exception {
+                return computeHints(context);
+            }
+        };
+        task.setOnSucceeded(new EventHandler<WorkerStateEvent>() {
+            @Override
+            public void handle(WorkerStateEvent event) {
+                if (task != _hintsTask) {
+                    return; // superseded by a newer context
+                }
+                _hintsTask = null;
+                if (_popup == null) {
+                    return;
+                }
+                setLoading(false);
+                List<T> hints = task.getValue();
+                if (hints != null ? updateHints(context, hints) : updateHints(context)) {
+                    showPopup();
+                }
+                else {
+                    hideHintsPopup();
+                }
+            }
+        });
+        task.setOnFailed(new EventHandler<WorkerStateEvent>() {
+            @Override
+            public void handle(WorkerStateEvent event) {
+                if (task == _hintsTask) {
+                    _hintsTask = null;
+                    hideHintsPopup();
+                }
+            }
+        });
+        _hintsTask = task;
+        getExecutor().execute(task);
+    }
+
+    private void cancelHintsTask() {
+        if (_hintsTask != null) {
+            _hintsTask.cancel();
+            _hintsTask = null;
+        }
+    }
+
+    /**
+     * Computes the hints of the context on a background thread. It is only called when {@link #isAsyncHints()} is
+     * true. The context is the one returned from {@link #getContext()} when the hints were requested, so this method
+     * should not access the TextInputControl or anything else that is only safe to use on the JavaFX application
+     * thread. If it is still running when the context changed again, the task is cancelled and its result is
+     * discarded, so it is a good idea to check {@link Thread#isInterrupted()} in a long computation.
+     * <p>
+     * The returned hints are passed to {@link #updateHints(Object, List)} on the JavaFX application thread. By
+     * default, it returns null which means the hints can't be computed in the background, so {@link
+     * #updateHints(Object)} will be called on the JavaFX application thread instead.
+     *
+     * @param context the context
+     * @return the hints. Null to call updateHints(context) on the JavaFX application thread.
+     */
+    protected List<T> computeHints(Object context) {
+        return null;
+    }
+
+    /**
+     * Updates the hints with the result of {@link #computeHints(Object)}. It is called on the JavaFX application
+     * thread. Subclasses that override computeHints should override this method to display the hints. By default, it
+     * returns false so the hints popup will be hidden.
+     *
+     * @param context the context the hints were computed for
+     * @param hints   the hints
+     * @return true or false. If it is false, hint popup will not be shown.
+     */
+    protected boolean updateHints(Object context, List<T> hints) {
+        return false;
+    }
+
+    /**
+     * Shows or hides the loading placeholder in the hints node while the hints are computed in the background. The
+     * hints of the previous context should not be available during that time so they can't be accepted by mistake.
+     * By default, it does nothing.
+     *
+     * @param loading true if the hints are being computed.
+     * @see #getLoadingPlaceholder()
+     */
+    protected void setLoading(boolean loading) {
+    }
+
     /**
      * Gets the context for hints. The context is the information that IntelliHints needs in order to generate a list of
      * hints. For example, for code-completion, the context is current word the cursor is on. for file completion, the
@@ -228,6 +351,7 @@ public abstract class AbstractIntelliHints<T> implements IntelliHints<T> {
      * Hides the hints popup.
      */
     protected void hideHintsPopup() {
+        cancelHintsTask();
         if (_popup != null) {
             _popup.hide();
             _popup = null;
@@ -320,6 +444,90 @@ public abstract class AbstractIntelliHints<T> implements IntelliHints<T> {
         autoPopupProperty().set(autoPopup);
     }
 
+    public BooleanProperty asyncHintsProperty() {
+        if (_asyncHintsProperty == null) {
+            _asyncHintsProperty = new SimpleBooleanProperty(false);
+        }
+        return _asyncHintsProperty;
+    }
+
+    /**
+     * Returns whether the hints are computed in the background. Default is false.
+     *
+     * @return true if {@link #computeHints(Object)} is called on a background thread to compute the hints.
+     * @see #setAsyncHints(boolean)
+     */
+    public boolean isAsyncHints() {
+        return asyncHintsProperty().get();
+    }
+
+    /**
+     * Sets whether the hints are computed in the background. If true, the hints popup shows the loading placeholder
+     * right away and {@link #computeHints(Object)} is called with the context on the executor returned from {@link
+     * #getExecutor()}. Once it is done, the hints are published by {@link #updateHints(Object, List)} on the JavaFX
+     * application thread, unless the context changed or the popup was hidden in the meantime. It is useful when the
+     * hints come from a slow source such as a network file system or a database, so typing is never blocked.
+     *
+     * @param asyncHints true or false
+     */
+    public void setAsyncHints(boolean asyncHints) {
+        asyncHintsProperty().set(asyncHints);
+    }
+
+    public ObjectProperty<Node> loadingPlaceholderProperty() {
+        if (_loadingPlaceholderProperty == null) {
+            ProgressIndicator indicator = new ProgressIndicator();
+            indicator.setMaxSize(24, 24);
+            _loadingPlaceholderProperty = new SimpleObjectProperty<>(indicator);
+        }
+        return _loadingPlaceholderProperty;
+    }
+
+    /**
+     * Gets the node that is displayed in the hints popup while the hints are computed in the background. By default,
+     * it is an indeterminate ProgressIndicator.
+     *
+     * @return the loading placeholder.
+     */
+    public Node getLoadingPlaceholder() {
+        return loadingPlaceholderProperty().get();
+    }
+
+    /**
+     * Sets the node that is displayed in the hints popup while the hints are computed in the background.
+     *
+     * @param loadingPlaceholder the loading placeholder.
+     * @see #setAsyncHints(boolean)
+     */
+    public void setLoadingPlaceholder(Node loadingPlaceholder) {
+        loadingPlaceholderProperty().set(loadingPlaceholder);
+    }
+
+    /**
+     * Gets the executor that runs {@link #computeHints(Object)} when {@link #isAsyncHints()} is true. By default, it
+     * is a cached thread pool of daemon threads shared by all IntelliHints. Subclasses could override it to use a
+     * dedicated executor, for example one that limits the number of concurrent database queries.
+     *
+     * @return the executor.
+     */
+    protected ExecutorService getExecutor() {
+        synchronized (AbstractIntelliHints.class) {
+            if (_executor == null) {
+                _executor = Executors.newCachedThreadPool(new ThreadFactory() {
+                    private final AtomicInteger _count = new AtomicInteger();
+
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "IntelliHints-" + _count.incrementAndGet()); //NON-NLS
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+            }
+            return _executor;
+        }
+    }
+
     /**
      * Gets the delegate keystrokes.
      * <p/>
@@ -366,6 +574,7 @@ public abstract class AbstractIntelliHints<T> implements IntelliHints<T> {
             aih.hideHintsPopup();
             if (aih.getSelectedHint() != null) {
                 aih.setHintsEnabled(false);
+                aih.recordUsage(aih.getSelectedHint());
                 aih.acceptHint(hints.getSelectedHint());
                 aih.setHintsEnabled(true);
                 return true;
@@ -374,6 +583,34 @@ public abstract class AbstractIntelliHints<T> implements IntelliHints<T> {
         return false;
     }
 
+    private void recordUsage(T hint) {
+        if (hint != null && getUsageStatistics() != null) {
+            getUsageStatistics().record(hint);
+        }
+    }
+
+    /**
+     * Gets the statistics that record the accepted hints.
+     *
+     * @return the usage statistics. Null if the accepted hints are not recorded.
+     */
+    public HintUsageStatistics getUsageStatistics() {
+        return _usageStatistics;
+    }
+
+    /**
+     * Sets the statistics that record the accepted hints. Each hint the user accepts from the hints popup is recorded
+     * in it, and {@link AbstractListIntelliHints} shows the hints that were accepted most often and most recently
+     * first. The same statistics could be shared by several IntelliHints. By default, it is null so nothing is
+     * recorded.
+     *
+     * @param usageStatistics the usage statistics
+     * @see HintUsageStatistics#getInstance(String)
+     */
+    public void setUsageStatistics(HintUsageStatistics usageStatistics) {
+        _usageStatistics = usageStatistics;
+    }
+
     private void rejectHint() {
         hideHintsPopup();
     }
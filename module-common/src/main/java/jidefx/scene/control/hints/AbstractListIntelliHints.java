@@ -20,21 +20,43 @@
  */
 package jidefx.scene.control.hints;
 
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.geometry.Orientation;
 import javafx.scene.Node;
 import javafx.scene.control.ListView;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.Skin;
 import javafx.scene.control.TextInputControl;
 import javafx.scene.input.KeyCombination;
 import javafx.scene.layout.BorderPane;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
 
 /**
  * {@code AbstractListIntelliHints} extends AbstractIntelliHints and further implement most of the methods in
  * interface {@link IntelliHints}. In this class, it assumes the hints can be represented as
  * a ListView, so it used ListView in the hints popup.
  */
+@SuppressWarnings("Convert2Lambda")
 public abstract class AbstractListIntelliHints<T> extends AbstractIntelliHints<T> {
     private ListView<T> _listView;
+    private FilteredList<T> _filteredHints;
+    private Node _placeholder;
+    private boolean _loading;
+    private int _maxHintCount = 0;
+    private ObservableList<T> _hints;
+    private Iterator<? extends T> _moreHints;
 
     /**
      * Creates a Completion for a TextInputControl
@@ -49,6 +71,8 @@ public abstract class AbstractListIntelliHints<T> extends AbstractIntelliHints<T
         BorderPane pane = new BorderPane();
 
         _listView = createListView();
+        _loading = false;
+        installMoreHintsListeners(_listView);
         pane.setCenter(_listView);
 
         return pane;
@@ -75,7 +99,8 @@ public abstract class AbstractListIntelliHints<T> extends AbstractIntelliHints<T
     }
 
     /**
-     * Sets the available hints.
+     * Sets the available hints. The list displays them through a FilteredList so they can be narrowed down later by
+     * {@link #filterAvailableHints(Predicate)}.
      *
      * @param hints the list of hints
      */
@@ -84,7 +109,243 @@ public abstract class AbstractListIntelliHints<T> extends AbstractIntelliHints<T
             return;
         }
         resetSelection();
-        getListView().setItems(hints);
+        _hints = hints;
+        _moreHints = null;
+        _filteredHints = hints != null ? new FilteredList<>(hints) : null;
+        getListView().setItems(_filteredHints);
+    }
+
+    /**
+     * Sets the available hints from an iterator. If {@link #getMaxHintCount()} is positive, only that many hints are
+     * taken from the iterator at first. The next ones are taken when the user scrolls or navigates to the end of the
+     * list, or when {@link #loadMoreHints()} is called. So the iterator should find the hints lazily, which saves the
+     * time and the memory to find all the hints when the user only looks at the first few.
+     *
+     * @param hints the iterator of the hints
+     * @return true if there are any hints.
+     */
+    protected boolean streamAvailableHints(Iterator<? extends T> hints) {
+        ObservableList<T> list = FXCollections.observableArrayList();
+        addHints(list, hints);
+        setAvailableHints(list);
+        if (hints.hasNext() && getListView() != null) {
+            _moreHints = hints;
+        }
+        return !list.isEmpty();
+    }
+
+    private void addHints(List<T> list, Iterator<? extends T> hints) {
+        int max = getMaxHintCount();
+        List<T> batch = new ArrayList<>();
+        while ((max <= 0 || batch.size() < max) && hints.hasNext()) {
+            batch.add(hints.next());
+        }
+        list.addAll(batch);
+    }
+
+    /**
+     * Checks if there are more hints that are not taken from the iterator passed to {@link
+     * #streamAvailableHints(Iterator)} yet.
+     *
+     * @return true if there are more hints.
+     */
+    public boolean hasMoreHints() {
+        return _moreHints != null;
+    }
+
+    /**
+     * Takes the next {@link #getMaxHintCount()} hints from the iterator passed to {@link
+     * #streamAvailableHints(Iterator)} and appends them to the list. It is called automatically when the user scrolls
+     * or navigates to the end of the list.
+     */
+    public void loadMoreHints() {
+        if (_moreHints == null || _hints == null) {
+            return;
+        }
+        Iterator<? extends T> hints = _moreHints;
+        addHints(_hints, hints);
+        if (!hints.hasNext()) {
+            _moreHints = null;
+        }
+    }
+
+    /**
+     * Gets the maximum number of hints that are taken from the iterator passed to {@link
+     * #streamAvailableHints(Iterator)} at a time.
+     *
+     * @return the maximum number of hints. Zero or negative means no limit.
+     */
+    public int getMaxHintCount() {
+        return _maxHintCount;
+    }
+
+    /**
+     * Sets the maximum number of hints that are taken from the iterator passed to {@link
+     * #streamAvailableHints(Iterator)} at a time. By default, it is 0 which means all the hints are found before the
+     * hints popup is shown. If it is positive, only the first hints are found and the list loads more hints as the
+     * user scrolls down. It is recommended for huge lists of hints where a short context matches a lot of them.
+     *
+     * @param maxHintCount the maximum number of hints. Zero or negative means no limit.
+     */
+    public void setMaxHintCount(int maxHintCount) {
+        _maxHintCount = maxHintCount;
+    }
+
+    /**
+     * Loads more hints when the list is scrolled to the end or the last hint is focused.
+     */
+    private void installMoreHintsListeners(final ListView<T> listView) {
+        listView.getFocusModel().focusedIndexProperty().addListener(new ChangeListener<Number>() {
+            @Override
+            public void changed(ObservableValue<? extends Number> observable, Number oldValue, Number newValue) {
+                if (listView.getItems() != null && newValue.intValue() >= listView.getItems().size() - 1) {
+                    loadMoreHints();
+                }
+            }
+        });
+        listView.skinProperty().addListener(new ChangeListener<Skin<?>>() {
+            @Override
+            public void changed(ObservableValue<? extends Skin<?>> observable, Skin<?> oldValue, Skin<?> newValue) {
+                for (Node node : listView.lookupAll(".scroll-bar")) { //NON-NLS
+                    if (node instanceof ScrollBar && ((ScrollBar) node).getOrientation() == Orientation.VERTICAL) {
+                        final ScrollBar scrollBar = (ScrollBar) node;
+                        scrollBar.valueProperty().addListener(new ChangeListener<Number>() {
+                            @Override
+                            public void changed(ObservableValue<? extends Number> observable, Number oldValue,
+                                                Number newValue) {
+                                if (newValue.doubleValue() >= scrollBar.getMax()) {
+                                    loadMoreHints();
+                                }
+                            }
+                        });
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Checks if the hints set by {@link #setAvailableHints(ObservableList)} are still displayed in the list, so they
+     * can be narrowed down by {@link #filterAvailableHints(Predicate)}. It is false if some hints are not taken from
+     * the iterator passed to {@link #streamAvailableHints(Iterator)} yet.
+     *
+     * @return true if the available hints can be filtered.
+     */
+    protected boolean isAvailableHintsFilterable() {
+        return getListView() != null && _filteredHints != null && getListView().getItems() == _filteredHints
+                && !hasMoreHints();
+    }
+
+    /**
+     * Filters the hints set by the last call to {@link #setAvailableHints(ObservableList)} in place. The list keeps
+     * the same items instance, only the hints that don't match the predicate are hidden, so the cells of the list are
+     * not created again. The predicate is always applied to all the hints set by setAvailableHints, not only the ones
+     * left by the previous filter.
+     *
+     * @param predicate the predicate to decide if a hint is available. Null to make all the hints available.
+     * @return true if there are hints left. False if the hints can't be filtered or nothing is left.
+     * @see #isAvailableHintsFilterable()
+     */
+    protected boolean filterAvailableHints(Predicate<? super T> predicate) {
+        if (!isAvailableHintsFilterable()) {
+            return false;
+        }
+        resetSelection();
+        _filteredHints.setPredicate(predicate);
+        return !_filteredHints.isEmpty();
+    }
+
+    /**
+     * Sets the hints computed by {@link #computeHints(Object)} as the available hints.
+     *
+     * @param context the context the hints were computed for
+     * @param hints   the hints
+     * @return true if there are any hints.
+     */
+    @Override
+    protected boolean updateHints(Object context, List<T> hints) {
+        return streamAvailableHints(rankHints(hints.iterator()));
+    }
+
+    /**
+     * Moves the hints that were accepted most often and most recently to the front, according to {@link
+     * #getUsageStatistics()}. Only the first batch of the hints is ranked, which is the first {@link
+     * #getMaxHintCount()} hints, or all of them if there is no limit. The best {@link #getRankedHintCount()} hints of
+     * the batch come first, followed by the rest of the batch. The hints after the batch are not visited until they
+     * are taken, and they keep their original order.
+     *
+     * @param hints the iterator of the hints
+     * @return the iterator of the ranked hints.
+     */
+    protected Iterator<? extends T> rankHints(final Iterator<? extends T> hints) {
+        HintUsageStatistics statistics = getUsageStatistics();
+        if (statistics == null || statistics.getSize() == 0) {
+            return hints;
+        }
+
+        int max = getMaxHintCount();
+        List<T> batch = new ArrayList<>();
+        while ((max <= 0 || batch.size() < max) && hints.hasNext()) {
+            batch.add(hints.next());
+        }
+        List<T> topHints = statistics.getTopHints(batch.iterator(), getRankedHintCount());
+        if (!topHints.isEmpty()) {
+            Set<T> ranked = Collections.newSetFromMap(new IdentityHashMap<T, Boolean>());
+            ranked.addAll(topHints);
+            List<T> rankedBatch = new ArrayList<>(batch.size());
+            rankedBatch.addAll(topHints);
+            for (T hint : batch) {
+                if (!ranked.contains(hint)) {
+                    rankedBatch.add(hint);
+                }
+            }
+            batch = rankedBatch;
+        }
+
+        final Iterator<T> first = batch.iterator();
+        return new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return first.hasNext() || hints.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return first.hasNext() ? first.next() : hints.next();
+            }
+        };
+    }
+
+    /**
+     * Gets the number of the hints that are moved to the front by {@link #rankHints(Iterator)}.
+     *
+     * @return the number of the ranked hints. Default is 5.
+     */
+    protected int getRankedHintCount() {
+        return 5;
+    }
+
+    /**
+     * Clears the list and shows the loading placeholder as the placeholder of the list while the hints are computed in
+     * the background.
+     *
+     * @param loading true if the hints are being computed.
+     */
+    @Override
+    protected void setLoading(boolean loading) {
+        if (getListView() == null || loading == _loading) {
+            return;
+        }
+        _loading = loading;
+        if (loading) {
+            _placeholder = getListView().getPlaceholder();
+            setAvailableHints(null);
+            getListView().setPlaceholder(getLoadingPlaceholder());
+        }
+        else {
+            getListView().setPlaceholder(_placeholder);
+            _placeholder = null;
+        }
     }
 
     private void resetSelection() {
@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2002-2015, JIDE Software Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jidefx.scene.control.hints;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A bounded cache of the directory listings used by {@link FileIntelliHints}. Each directory is read once through a
+ * {@link DirectoryStream}, together with the type of each entry, and kept as an array sorted by the lower case names so
+ * the entries that start with a prefix are found by a binary search. The directories are registered to a {@link
+ * WatchService} of their file system. The pending watch events are checked before each lookup and the listing of a
+ * directory that changed is dropped. The directories that can't be watched are not cached.
+ * <p>
+ * The WatchService returns the same WatchKey when a directory is registered again, for example by two threads that
+ * look up the same directory at the same time or through two paths of the same directory. A WatchKey is therefore only
+ * cancelled when no other listing uses it, and a listing whose WatchKey is no longer valid is read again.
+ * <p>
+ * The least recently used directories are dropped once there are more than {@link #MAX_SIZE} of them. This class is
+ * thread safe.
+ */
+class DirectoryCache {
+    static final int MAX_SIZE = 32;
+
+    private static DirectoryCache _instance;
+
+    private final Map<Path, Listing> _listings = new LinkedHashMap<Path, Listing>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, Listing> eldest) {
+            if (size() > MAX_SIZE) {
+                cancelIfUnused(eldest.getValue()._key, eldest.getValue());
+                return true;
+            }
+            return false;
+        }
+    };
+    private final Map<FileSystem, WatchService> _watchServices = new HashMap<>();
+
+    static synchronized DirectoryCache getInstance() {
+        if (_instance == null) {
+            _instance = new DirectoryCache();
+        }
+        return _instance;
+    }
+
+    /**
+     * The entries of a directory sorted by their lower case names.
+     */
+    private static class Listing {
+        private final String[] _names;
+        private final String[] _keys;
+        private final boolean[] _files;
+        private WatchKey _key;
+
+        Listing(String[] names, String[] keys, boolean[] files) {
+            _names = names;
+            _keys = keys;
+            _files = files;
+        }
+    }
+
+    /**
+     * Finds the entries of the directory whose lower case names start with the prefix.
+     *
+     * @param dir        the directory
+     * @param prefix     the lower case prefix. Null or empty to find all the entries.
+     * @param folderOnly true to skip the regular files
+     * @return the names of the entries sorted by their lower case names. Empty if the directory can't be read.
+     */
+    List<String> list(Path dir, String prefix, boolean folderOnly) {
+        Listing listing = getListing(dir);
+        if (listing == null) {
+            return new ArrayList<>();
+        }
+        String[] keys = listing._keys;
+        int low = 0;
+        if (prefix != null && !prefix.isEmpty()) {
+            int high = keys.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (keys[middle].compareTo(prefix) < 0) {
+                    low = middle + 1;
+                }
+                else {
+                    high = middle;
+                }
+            }
+        }
+        List<String> names = new ArrayList<>();
+        for (int i = low; i < keys.length && (prefix == null || keys[i].startsWith(prefix)); i++) {
+            if (!folderOnly || !listing._files[i]) {
+                names.add(listing._names[i]);
+            }
+        }
+        return names;
+    }
+
+    private Listing getListing(Path dir) {
+        WatchKey key;
+        synchronized (this) {
+            processEvents();
+            Listing listing = _listings.get(dir);
+            if (listing != null) {
+                if (listing._key.isValid()) {
+                    return listing;
+                }
+                _listings.remove(dir);
+            }
+            try {
+                // registers before reading so no change after the read is missed
+                key = dir.register(getWatchService(dir.getFileSystem()), StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_DELETE);
+            }
+            catch (IOException | UnsupportedOperationException | SecurityException e) {
+                key = null; // can't watch the directory so it is not cached
+            }
+        }
+
+        Listing listing = read(dir);
+        if (listing == null && key != null) {
+            synchronized (this) {
+                cancelIfUnused(key, null);
+            }
+        }
+        else if (listing != null && key != null) {
+            synchronized (this) {
+                if (key.isValid()) { // not changed while reading
+                    listing._key = key;
+                    _listings.put(dir, listing);
+                }
+            }
+        }
+        return listing;
+    }
+
+    /**
+     * Reads the entries of the directory and their types in one pass.
+     */
+    private static Listing read(Path dir) {
+        final List<String> names = new ArrayList<>();
+        final List<Boolean> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path path : stream) {
+                boolean file;
+                try {
+                    file = Files.readAttributes(path, BasicFileAttributes.class).isRegularFile();
+                }
+                catch (IOException e) {
+                    file = false; // the same as File.isFile for an entry that can't be read
+                }
+                names.add(path.getFileName().toString());
+                files.add(file);
+            }
+        }
+        catch (IOException | SecurityException e) {
+            return null;
+        }
+
+        int size = names.size();
+        final String[] keys = new String[size];
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = names.get(i).toLowerCase();
+            order[i] = i;
+        }
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer o1, Integer o2) {
+                return keys[o1].compareTo(keys[o2]);
+            }
+        });
+        String[] sortedNames = new String[size];
+        String[] sortedKeys = new String[size];
+        boolean[] sortedFiles = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            sortedNames[i] = names.get(order[i]);
+            sortedKeys[i] = keys[order[i]];
+            sortedFiles[i] = files.get(order[i]);
+        }
+        return new Listing(sortedNames, sortedKeys, sortedFiles);
+    }
+
+    private WatchService getWatchService(FileSystem fileSystem) throws IOException {
+        WatchService watchService = _watchServices.get(fileSystem);
+        if (watchService == null) {
+            watchService = fileSystem.newWatchService();
+            _watchServices.put(fileSystem, watchService);
+        }
+        return watchService;
+    }
+
+    /**
+     * Drops the listings of the directories that changed since the last time.
+     */
+    private void processEvents() {
+        for (WatchService watchService : _watchServices.values()) {
+            WatchKey key;
+            while ((key = watchService.poll()) != null) {
+                key.pollEvents();
+                key.cancel();
+                for (Iterator<Listing> iterator = _listings.values().iterator(); iterator.hasNext(); ) {
+                    if (iterator.next()._key == key) {
+                        iterator.remove();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Cancels the WatchKey unless a listing other than the specified one still uses it.
+     */
+    private void cancelIfUnused(WatchKey key, Listing except) {
+        for (Listing listing : _listings.values()) {
+            if (listing != except && listing._key == key) {
+                return;
+            }
+        }
+        key.cancel();
+    }
+
+    /**
+     * Drops all the listings.
+     */
+    synchronized void clear() {
+        for (Listing listing : _listings.values()) {
+            listing._key.cancel();
+        }
+        _listings.clear();
+    }
+}
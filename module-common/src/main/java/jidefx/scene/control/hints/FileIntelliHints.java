@@ -20,7 +20,6 @@
  */
 package jidefx.scene.control.hints;
 
-import javafx.collections.FXCollections;
 import javafx.scene.control.ListCell;
 import javafx.scene.control.ListView;
 import javafx.scene.control.TextInputControl;
@@ -28,6 +27,15 @@ import javafx.util.Callback;
 
 import java.io.File;
 import java.io.FilenameFilter;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
 
 /**
  * {@code FileIntelliHints} is a concrete implementation of {@link IntelliHints}. It
@@ -39,6 +47,7 @@ public class FileIntelliHints extends AbstractListIntelliHints<String> {
     private boolean _folderOnly = false;
     private boolean _showFullPath = true;
     private FilenameFilter _filter;
+    private boolean _directoryCacheEnabled = false;
 
     public FileIntelliHints(TextInputControl comp) {
         super(comp);
@@ -82,37 +91,130 @@ public class FileIntelliHints extends AbstractListIntelliHints<String> {
         _showFullPath = showFullPath;
     }
 
+    /**
+     * Lists the files in the folder of the context that start with the name typed so far. The files are checked
+     * against {@link #isFolderOnly()} and the filter lazily, so only the files that are taken for the hints list
+     * are checked when {@link #getMaxHintCount()} is positive.
+     *
+     * @param value the context
+     * @return true if there are any hints.
+     */
     public boolean updateHints(Object value) {
+        return showHints(value, iterateFiles(value));
+    }
+
+    /**
+     * Lists the files in the folder of the context that start with the name typed so far. It only accesses the file
+     * system, so it can run on a background thread when {@link #isAsyncHints()} is true.
+     *
+     * @param value the context
+     * @return the names of the files.
+     */
+    @Override
+    protected List<String> computeHints(Object value) {
+        List<String> files = new ArrayList<>();
+        for (Iterator<String> iterator = iterateFiles(value); iterator.hasNext(); ) {
+            files.add(iterator.next());
+        }
+        return files;
+    }
+
+    /**
+     * Gets the files in the folder of the context that start with the name typed so far. The names are read at once
+     * but the types of the files and the filter are only checked when the iterator gets to them.
+     */
+    private Iterator<String> iterateFiles(Object value) {
         if (value == null) {
-            return false;
+            return Collections.emptyIterator();
         }
         String s = value.toString();
-        if (s.length() == 0) {
-            return false;
-        }
-        int index1 = s.lastIndexOf('\\');
-        int index2 = s.lastIndexOf('/');
-        int index = Math.max(index1, index2);
+        int index = getSeparatorIndex(s);
         if (index == -1)
-            return false;
+            return Collections.emptyIterator();
         final String dir = s.substring(0, index + 1);
         final String prefix = index == s.length() - 1 ? null : s.substring(index + 1).toLowerCase();
-        String[] files = new File(dir).list(new FilenameFilter() {
-            public boolean accept(File dir, String name) {
+        final File folder = new File(dir);
+        if (isDirectoryCacheEnabled()) {
+            List<String> files;
+            try {
+                files = DirectoryCache.getInstance().list(Paths.get(dir).toAbsolutePath(), prefix, isFolderOnly());
+            }
+            catch (InvalidPathException e) {
+                return Collections.emptyIterator();
+            }
+            if (getFilter() == null) {
+                return files.iterator();
+            }
+            return filterFiles(files.iterator(), new Predicate<String>() {
+                @Override
+                public boolean test(String name) {
+                    return getFilter().accept(folder, name);
+                }
+            });
+        }
+        String[] files = folder.list();
+        if (files == null) {
+            return Collections.emptyIterator();
+        }
+        return filterFiles(Arrays.asList(files).iterator(), new Predicate<String>() {
+            @Override
+            public boolean test(String name) {
+                if (prefix != null && !name.toLowerCase().startsWith(prefix)) {
+                    return false;
+                }
                 if (isFolderOnly()) {
-                    if (new File(dir.getAbsolutePath() + File.separator + name).isFile()) {
+                    if (new File(folder.getAbsolutePath() + File.separator + name).isFile()) {
                         return false;
                     }
                 }
-                boolean result = prefix == null || name.toLowerCase().startsWith(prefix);
-                if (result && getFilter() != null) {
-                    return getFilter().accept(dir, name);
-                }
-                return result;
+                return getFilter() == null || getFilter().accept(folder, name);
             }
         });
+    }
+
+    private static Iterator<String> filterFiles(final Iterator<String> files, final Predicate<String> predicate) {
+        return new Iterator<String>() {
+            private String _next;
+
+            @Override
+            public boolean hasNext() {
+                while (_next == null && files.hasNext()) {
+                    String file = files.next();
+                    if (predicate.test(file)) {
+                        _next = file;
+                    }
+                }
+                return _next != null;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                String next = _next;
+                _next = null;
+                return next;
+            }
+        };
+    }
+
+    @Override
+    protected boolean updateHints(Object value, List<String> files) {
+        return showHints(value, files.iterator());
+    }
 
-        if (files == null || files.length == 0 || (files.length == 1 && files[0].equalsIgnoreCase(prefix))) {
+    private boolean showHints(Object value, final Iterator<String> files) {
+        String s = value == null ? "" : value.toString();
+        int index = getSeparatorIndex(s);
+        final String dir = s.substring(0, index + 1);
+        final String prefix = index == s.length() - 1 ? null : s.substring(index + 1).toLowerCase();
+        // only the first two files are needed to tell if the typed name is the only match
+        final List<String> first = new ArrayList<>(2);
+        while (first.size() < 2 && files.hasNext()) {
+            first.add(files.next());
+        }
+        if (first.isEmpty() || (first.size() == 1 && first.get(0).equalsIgnoreCase(prefix))) {
             setAvailableHints(null);
             return false;
         }
@@ -132,11 +234,27 @@ public class FileIntelliHints extends AbstractListIntelliHints<String> {
                     }
                 });
             }
-            setAvailableHints(FXCollections.<String>observableArrayList(files));
-            return true;
+            final Iterator<String> firstFiles = first.iterator();
+            return streamAvailableHints(rankHints(new Iterator<String>() {
+                @Override
+                public boolean hasNext() {
+                    return firstFiles.hasNext() || files.hasNext();
+                }
+
+                @Override
+                public String next() {
+                    return firstFiles.hasNext() ? firstFiles.next() : files.next();
+                }
+            }));
         }
     }
 
+    private static int getSeparatorIndex(String s) {
+        int index1 = s.lastIndexOf('\\');
+        int index2 = s.lastIndexOf('/');
+        return Math.max(index1, index2);
+    }
+
     @Override
     public void acceptHint(String selected) {
         if (selected == null)
@@ -156,6 +274,33 @@ public class FileIntelliHints extends AbstractListIntelliHints<String> {
         getTextInputControl().insertText(caretPosition, selectedValue.substring(prefixLength));
     }
 
+    /**
+     * Checks if the directory listings are cached. By default it's false.
+     *
+     * @return true if the directory listings are cached.
+     */
+    public boolean isDirectoryCacheEnabled() {
+        return _directoryCacheEnabled;
+    }
+
+    /**
+     * Enables or disables the cache of the directory listings. If true, each directory is read once with the types of
+     * its entries and kept sorted by name, so typing the name of a file in a huge directory doesn't read the directory
+     * again for every key. The cached directories are watched by a {@link java.nio.file.WatchService} and read again
+     * once they changed. The cache is shared by all FileIntelliHints and keeps the most recently used directories.
+     * <p>
+     * The cached hints are sorted by their lower case names. When the cache is disabled, the hints are in the order
+     * returned by {@link File#list(FilenameFilter)}.
+     * <p>
+     * Please note, the changes made by other machines in a network file system are not always reported to the
+     * WatchService. Set it to false if the hints of such directories must always be up to date.
+     *
+     * @param directoryCacheEnabled true to cache the directory listings.
+     */
+    public void setDirectoryCacheEnabled(boolean directoryCacheEnabled) {
+        _directoryCacheEnabled = directoryCacheEnabled;
+    }
+
     /**
      * Get FilenameFilter configured to this hints.
      * <p>
@@ -0,0 +1,343 @@
+/*
+ * Copyright (c) 2002-2015, JIDE Software Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jidefx.scene.control.hints;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@code HintUsageStatistics} counts how often and how recently each hint was accepted, so the hints the user picks
+ * most can be shown first. Each accepted hint adds one to its score and the scores decay exponentially, halving every
+ * {@link #getHalfLife()} milliseconds, so a hint picked many times a long time ago eventually ranks below a hint picked
+ * a few times today. The hints are identified by their toString.
+ * <p>
+ * The score of each hint is kept as its logarithm shifted by the time it was last updated, so all the scores decay
+ * together and ranking the hints compares them without any time calculation. At most {@link #getMaxSize()} hints are
+ * kept. The ones with the lowest scores are dropped once there are more.
+ * <p>
+ * The statistics can be shared by several IntelliHints with {@link #getInstance(String)}, and saved to and loaded from
+ * a file. This class is thread safe.
+ * <pre>{@code
+ * HintUsageStatistics statistics = HintUsageStatistics.getInstance("symbols");
+ * statistics.load(Paths.get(System.getProperty("user.home"), ".symbols-usage"));
+ * hints.setUsageStatistics(statistics);
+ * ...
+ * statistics.save(Paths.get(System.getProperty("user.home"), ".symbols-usage"));
+ * }</pre>
+ */
+public class HintUsageStatistics {
+    private static final ConcurrentMap<String, HintUsageStatistics> INSTANCES = new ConcurrentHashMap<>();
+
+    /**
+     * The default half life of the scores, which is seven days.
+     */
+    public static final long DEFAULT_HALF_LIFE = 7L * 24 * 60 * 60 * 1000;
+
+    /**
+     * The default maximum number of hints to keep.
+     */
+    public static final int DEFAULT_MAX_SIZE = 1000;
+
+    // log2 of the score plus the time in half lives, from the hint to the level
+    private final Map<String, Double> _levels = new HashMap<>();
+    private long _halfLife = DEFAULT_HALF_LIFE;
+    private int _maxSize = DEFAULT_MAX_SIZE;
+
+    /**
+     * Gets the shared statistics of the key. The same instance is returned for the same key.
+     *
+     * @param key the key, for example the name of the field the hints are used in
+     * @return the statistics of the key.
+     */
+    public static HintUsageStatistics getInstance(String key) {
+        HintUsageStatistics statistics = INSTANCES.get(key);
+        if (statistics == null) {
+            statistics = new HintUsageStatistics();
+            HintUsageStatistics existing = INSTANCES.putIfAbsent(key, statistics);
+            if (existing != null) {
+                statistics = existing;
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * Records that the hint was accepted now.
+     *
+     * @param hint the hint
+     */
+    public void record(Object hint) {
+        record(hint, System.currentTimeMillis());
+    }
+
+    /**
+     * Records that the hint was accepted at the specified time.
+     *
+     * @param hint the hint
+     * @param time the time in milliseconds
+     */
+    public synchronized void record(Object hint, long time) {
+        if (hint == null) {
+            return;
+        }
+        String key = hint.toString();
+        double now = (double) time / _halfLife; // a score of one at the time
+        Double level = _levels.get(key);
+        if (level != null) {
+            // log2(2^level + 2^now) without overflowing
+            double max = Math.max(level, now);
+            double min = Math.min(level, now);
+            now = max + Math.log(1 + Math.pow(2, min - max)) / Math.log(2);
+        }
+        _levels.put(key, now);
+        if (_levels.size() > _maxSize) {
+            trim(Math.max(1, _maxSize * 3 / 4));
+        }
+    }
+
+    /**
+     * Gets the score of the hint at the specified time.
+     *
+     * @param hint the hint
+     * @param time the time in milliseconds
+     * @return the score. Zero if the hint was never accepted.
+     */
+    public double getScore(Object hint, long time) {
+        if (hint == null) {
+            return 0;
+        }
+        String key = hint.toString();
+        synchronized (this) {
+            Double level = _levels.get(key);
+            return level == null ? 0 : Math.pow(2, level - (double) time / _halfLife);
+        }
+    }
+
+    /**
+     * Finds the hints with the highest scores. The hints are visited once and only the best ones are kept in a bounded
+     * heap, so the hints don't need to be sorted. The scores are copied first, so the toString of the hints is not
+     * called while the statistics are locked.
+     *
+     * @param hints the hints
+     * @param count the maximum number of hints to return
+     * @param <T>   the type of the hints
+     * @return the hints that were accepted before, from the highest score to the lowest. The hints with the same score
+     *         are in the order of the iterator.
+     */
+    public <T> List<T> getTopHints(Iterator<? extends T> hints, int count) {
+        Map<String, Double> levels;
+        synchronized (this) {
+            if (count <= 0 || _levels.isEmpty()) {
+                return new ArrayList<>();
+            }
+            levels = new HashMap<>(_levels);
+        }
+        PriorityQueue<RankedHint<T>> heap = new PriorityQueue<>(count);
+        for (int position = 0; hints.hasNext(); position++) {
+            T hint = hints.next();
+            Double level = hint == null ? null : levels.get(hint.toString());
+            if (level == null) {
+                continue;
+            }
+            RankedHint<T> rankedHint = new RankedHint<>(hint, level, position);
+            if (heap.size() < count) {
+                heap.add(rankedHint);
+            }
+            else if (rankedHint.compareTo(heap.peek()) > 0) {
+                heap.poll();
+                heap.add(rankedHint);
+            }
+        }
+        List<T> topHints = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            topHints.add(heap.poll()._hint);
+        }
+        Collections.reverse(topHints);
+        return topHints;
+    }
+
+    /**
+     * A hint in the heap. The heap keeps the worst hint on the top, which is the one with the lowest score and the
+     * latest position.
+     */
+    private static class RankedHint<T> implements Comparable<RankedHint<T>> {
+        private final T _hint;
+        private final double _level;
+        private final int _position;
+
+        RankedHint(T hint, double level, int position) {
+            _hint = hint;
+            _level = level;
+            _position = position;
+        }
+
+        @Override
+        public int compareTo(RankedHint<T> o) {
+            int result = Double.compare(_level, o._level);
+            return result != 0 ? result : Integer.compare(o._position, _position);
+        }
+    }
+
+    /**
+     * Gets the half life of the scores.
+     *
+     * @return the half life in milliseconds.
+     */
+    public synchronized long getHalfLife() {
+        return _halfLife;
+    }
+
+    /**
+     * Sets the half life of the scores. The scores that were already recorded are kept as they are now.
+     *
+     * @param halfLife the half life in milliseconds. It must be positive. The default is {@link #DEFAULT_HALF_LIFE}.
+     */
+    public synchronized void setHalfLife(long halfLife) {
+        if (halfLife <= 0) {
+            throw new IllegalArgumentException("The half life must be positive."); //NON-NLS
+        }
+        long time = System.currentTimeMillis();
+        for (Map.Entry<String, Double> entry : _levels.entrySet()) {
+            entry.setValue(entry.getValue() - (double) time / _halfLife + (double) time / halfLife);
+        }
+        _halfLife = halfLife;
+    }
+
+    /**
+     * Gets the maximum number of hints to keep.
+     *
+     * @return the maximum number of hints.
+     */
+    public synchronized int getMaxSize() {
+        return _maxSize;
+    }
+
+    /**
+     * Sets the maximum number of hints to keep. Once there are more, the hints with the lowest scores are dropped.
+     *
+     * @param maxSize the maximum number of hints. The default is {@link #DEFAULT_MAX_SIZE}.
+     */
+    public synchronized void setMaxSize(int maxSize) {
+        _maxSize = Math.max(1, maxSize);
+        if (_levels.size() > _maxSize) {
+            trim(_maxSize);
+        }
+    }
+
+    /**
+     * Gets the number of hints that are kept.
+     *
+     * @return the number of hints.
+     */
+    public synchronized int getSize() {
+        return _levels.size();
+    }
+
+    /**
+     * Forgets all the hints.
+     */
+    public synchronized void clear() {
+        _levels.clear();
+    }
+
+    /**
+     * Saves the statistics to the file.
+     *
+     * @param file the file
+     * @throws IOException if the file can't be written
+     */
+    public void save(Path file) throws IOException {
+        Properties properties = new Properties();
+        synchronized (this) {
+            for (Map.Entry<String, Double> entry : _levels.entrySet()) {
+                properties.setProperty(entry.getKey(), Double.toString(entry.getValue() * _halfLife));
+            }
+        }
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            properties.store(writer, null);
+        }
+    }
+
+    /**
+     * Loads the statistics from the file saved by {@link #save(Path)}. The loaded hints are added to the ones that are
+     * already recorded. If a hint is recorded in both, the higher of the two scores is kept.
+     *
+     * @param file the file
+     * @throws IOException if the file can't be read
+     */
+    public void load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        synchronized (this) {
+            for (String key : properties.stringPropertyNames()) {
+                double level;
+                try {
+                    level = Double.parseDouble(properties.getProperty(key)) / _halfLife;
+                }
+                catch (NumberFormatException e) {
+                    continue;
+                }
+                Double existing = _levels.get(key);
+                if (existing == null || existing < level) {
+                    _levels.put(key, level);
+                }
+            }
+            if (_levels.size() > _maxSize) {
+                trim(_maxSize);
+            }
+        }
+    }
+
+    /**
+     * Drops the hints with the lowest scores until there are the specified number of them left.
+     */
+    private void trim(int size) {
+        double[] levels = new double[_levels.size()];
+        int i = 0;
+        for (Double level : _levels.values()) {
+            levels[i++] = level;
+        }
+        Arrays.sort(levels);
+        double threshold = levels[levels.length - size];
+        for (Iterator<Double> iterator = _levels.values().iterator(); iterator.hasNext() && _levels.size() > size; ) {
+            if (iterator.next() < threshold) {
+                iterator.remove();
+            }
+        }
+    }
+}
@@ -20,12 +20,14 @@
  */
 package jidefx.scene.control.hints;
 
-import javafx.collections.FXCollections;
 import javafx.scene.control.TextInputControl;
 
 import java.util.AbstractList;
-import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.Predicate;
 
 /**
  * {@code ListDataIntelliHints} is a concrete implementation of {@link IntelliHints}. It provides hints from a
@@ -36,6 +38,11 @@ public class ListDataIntelliHints<T> extends AbstractListIntelliHints<T> {
 
     private boolean _caseSensitive = false;
     private List<T> _completionList;
+    private boolean _prefixIndexEnabled = false;
+    private PrefixIndex _prefixIndex;
+
+    // the context of the hints that were set by setAvailableHints, used to narrow them down as the context grows
+    private String _hintsContext;
 
     public ListDataIntelliHints(TextInputControl comp, List<T> completionList) {
         super(comp);
@@ -63,6 +70,8 @@ public class ListDataIntelliHints<T> extends AbstractListIntelliHints<T> {
      */
     public void setCompletionList(List<T> completionList) {
         _completionList = completionList;
+        _prefixIndex = null;
+        _hintsContext = null;
     }
 
     /**
@@ -83,19 +92,92 @@ public class ListDataIntelliHints<T> extends AbstractListIntelliHints<T> {
                 return list.length;
             }
         };
+        _prefixIndex = null;
+        _hintsContext = null;
     }
 
-    public boolean updateHints(Object context) {
+    public boolean updateHints(final Object context) {
         if (context == null) {
             return false;
         }
-        List<T> possibleHints = new ArrayList<>();
-        for (T o : getCompletionList()) {
-            if (compare(context, o)) possibleHints.add(o);
+        String s = context.toString();
+        if (_hintsContext != null && isAvailableHintsFilterable() && isNarrowable(_hintsContext, s)) {
+            return filterAvailableHints(new Predicate<T>() {
+                @Override
+                public boolean test(T o) {
+                    return compare(context, o);
+                }
+            });
         }
 
-        setAvailableHints(FXCollections.observableArrayList(possibleHints));
-        return possibleHints.size() > 0;
+        Iterable<T> hints = isPrefixIndexEnabled() ? indexedHints(s) : matchingHints(context);
+        boolean hasHints = streamAvailableHints(rankHints(hints.iterator()));
+        _hintsContext = s;
+        return hasHints;
+    }
+
+    /**
+     * Gets the hints found by the prefix index in the order of their strings. The index is only walked as far as the
+     * hints are taken.
+     */
+    private Iterable<T> indexedHints(final String context) {
+        final List<T> completionList = getCompletionList();
+        final PrefixIndex prefixIndex = getPrefixIndex();
+        return new Iterable<T>() {
+            @Override
+            public Iterator<T> iterator() {
+                final PrimitiveIterator.OfInt indices = prefixIndex.find(context);
+                return new Iterator<T>() {
+                    @Override
+                    public boolean hasNext() {
+                        return indices.hasNext();
+                    }
+
+                    @Override
+                    public T next() {
+                        return completionList.get(indices.nextInt());
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Gets the hints that match the context. The completion list is only scanned as far as the hints are taken.
+     */
+    private Iterable<T> matchingHints(final Object context) {
+        final List<T> completionList = getCompletionList();
+        return new Iterable<T>() {
+            @Override
+            public Iterator<T> iterator() {
+                final Iterator<T> iterator = completionList.iterator();
+                return new Iterator<T>() {
+                    private T _next;
+                    private boolean _found;
+
+                    @Override
+                    public boolean hasNext() {
+                        while (!_found && iterator.hasNext()) {
+                            T o = iterator.next();
+                            if (compare(context, o)) {
+                                _next = o;
+                                _found = true;
+                            }
+                        }
+                        return _found;
+                    }
+
+                    @Override
+                    public T next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        _found = false;
+                        return _next;
+                    }
+                };
+            }
+        };
     }
 
     /**
@@ -121,6 +203,21 @@ public class ListDataIntelliHints<T> extends AbstractListIntelliHints<T> {
         return match;
     }
 
+    /**
+     * Checks if the hints of the new context are always a subset of the hints of the previous context. If so, {@link
+     * #updateHints(Object)} filters the hints that are already in the list instead of searching the whole completion
+     * list again. By default, it returns true if the new context starts with the previous context, which is correct
+     * for {@link #compare(Object, Object)}. If you override compare and it doesn't have this property, please
+     * override this method too.
+     *
+     * @param previousContext the previous context
+     * @param context         the new context
+     * @return true if the hints of the new context can be filtered from the hints of the previous context.
+     */
+    protected boolean isNarrowable(String previousContext, String context) {
+        return context.startsWith(previousContext);
+    }
+
     /**
      * Checks if it used case sensitive search. By default it's false.
      *
@@ -137,6 +234,45 @@ public class ListDataIntelliHints<T> extends AbstractListIntelliHints<T> {
      */
     public void setCaseSensitive(boolean caseSensitive) {
         _caseSensitive = caseSensitive;
+        _hintsContext = null;
+    }
+
+    /**
+     * Checks if the hints are looked up in a prefix index. By default it's false.
+     *
+     * @return true if the prefix index is used.
+     */
+    public boolean isPrefixIndexEnabled() {
+        return _prefixIndexEnabled;
+    }
+
+    /**
+     * Enables or disables the prefix index. If true, the completion list is sorted by the strings of the elements once,
+     * so {@link #updateHints(Object)} finds the hints that start with the context by a binary search instead of calling
+     * {@link #compare(Object, Object)} for every element. It is recommended for huge completion lists. Please note,
+     * the hints found in the index are sorted by their strings, case insensitively unless {@link #isCaseSensitive()}
+     * is true, instead of being in the order of the completion list. Only the hints that are shown are looked up, so
+     * together with {@link #setMaxHintCount(int)}, a short context costs the same as a long one even if it matches
+     * most of the list.
+     * <p>
+     * The index is built when it is used the first time after the completion list or the case sensitive flag changed.
+     * If you modify the elements of the completion list directly, please call {@link #setCompletionList(List)} again to
+     * rebuild it. Please also note, {@link #compare(Object, Object)} is not called when the index is used, so don't
+     * enable it if you override compare.
+     *
+     * @param prefixIndexEnabled true to enable the prefix index.
+     */
+    public void setPrefixIndexEnabled(boolean prefixIndexEnabled) {
+        _prefixIndexEnabled = prefixIndexEnabled;
+        _prefixIndex = null;
+        _hintsContext = null; // the hints are in a different order
+    }
+
+    private PrefixIndex getPrefixIndex() {
+        if (_prefixIndex == null || _prefixIndex.isCaseSensitive() != isCaseSensitive()) {
+            _prefixIndex = new PrefixIndex(getCompletionList(), isCaseSensitive());
+        }
+        return _prefixIndex;
     }
 
 }
\ No newline at end of file
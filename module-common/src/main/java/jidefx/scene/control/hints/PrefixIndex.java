@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2002-2015, JIDE Software Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jidefx.scene.control.hints;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * A sorted array of the strings of a list, used by {@link ListDataIntelliHints} to find the elements that start with a
+ * prefix by a binary search instead of comparing every element. The strings are case folded the same way as {@link
+ * String#equalsIgnoreCase(String)} when the index is case insensitive.
+ */
+class PrefixIndex {
+    private final String[] _keys;
+    private final int[] _indices;
+    private final boolean _caseSensitive;
+
+    /**
+     * Creates the index of the list. The elements are converted to string using toString. Null elements are the same
+     * as empty strings.
+     *
+     * @param list          the list
+     * @param caseSensitive true if the prefix lookups are case sensitive
+     */
+    PrefixIndex(List<?> list, boolean caseSensitive) {
+        _caseSensitive = caseSensitive;
+        int size = list.size();
+        final String[] keys = new String[size];
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            Object o = list.get(i);
+            keys[i] = key(o == null ? "" : o.toString());
+            order[i] = i;
+        }
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer o1, Integer o2) {
+                return keys[o1].compareTo(keys[o2]);
+            }
+        });
+
+        _keys = new String[size];
+        _indices = new int[size];
+        for (int i = 0; i < size; i++) {
+            _indices[i] = order[i];
+            _keys[i] = keys[order[i]];
+        }
+    }
+
+    /**
+     * Finds the elements whose string starts with the prefix. Only the first one is found by a binary search, the next
+     * ones are found as the iterator gets to them, so taking the first k elements costs O(log(n) + k) no matter how
+     * many elements match.
+     *
+     * @param prefix the prefix
+     * @return the iterator of the indices of the elements in the list, in the order of their strings. The elements with
+     *         the same string are in the order of the list.
+     */
+    PrimitiveIterator.OfInt find(String prefix) {
+        final String key = key(prefix);
+        int low = 0;
+        int high = _keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (_keys[middle].compareTo(key) < 0) {
+                low = middle + 1;
+            }
+            else {
+                high = middle;
+            }
+        }
+        final int start = low;
+        return new PrimitiveIterator.OfInt() {
+            private int _next = start;
+
+            @Override
+            public boolean hasNext() {
+                return _next < _keys.length && _keys[_next].startsWith(key);
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return _indices[_next++];
+            }
+        };
+    }
+
+    boolean isCaseSensitive() {
+        return _caseSensitive;
+    }
+
+    private String key(String s) {
+        if (_caseSensitive) {
+            return s;
+        }
+        char[] chars = s.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
+}
@@ -70,15 +70,25 @@ public class ComboBoxSearchable<T> extends Searchable<T> {
             _listChangeListener = new ListChangeListener<T>() {
                 @Override
                 public void onChanged(Change<? extends T> c) {
+                    itemsChanged(c, 1);
                     hidePopup();
                 }
             };
         }
-        ((ComboBox<T>) _node).getItems().addListener(_listChangeListener);
+        if (((ComboBox<T>) _node).getItems() != null) {
+            ((ComboBox<T>) _node).getItems().addListener(_listChangeListener);
+        }
         if (_itemsChangeListener == null) {
             _itemsChangeListener = new ChangeListener<ObservableList<T>>() {
                 @Override
                 public void changed(ObservableValue<? extends ObservableList<T>> observable, ObservableList<T> oldValue, ObservableList<T> newValue) {
+                    if (oldValue != null) {
+                        oldValue.removeListener(_listChangeListener);
+                    }
+                    if (newValue != null) {
+                        newValue.addListener(_listChangeListener);
+                    }
+                    resetElementStringCache();
                     hidePopup();
                 }
             };
@@ -89,7 +99,9 @@ public class ComboBoxSearchable<T> extends Searchable<T> {
     @Override
     public void uninstallListeners() {
         if (_listChangeListener != null) {
-            ((ComboBox<T>) _node).getItems().removeListener(_listChangeListener);
+            if (((ComboBox<T>) _node).getItems() != null) {
+                ((ComboBox<T>) _node).getItems().removeListener(_listChangeListener);
+            }
             _listChangeListener = null;
         }
         if (_itemsChangeListener != null) {
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2002-2015, JIDE Software Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jidefx.scene.control.searchable;
+
+import java.util.Arrays;
+
+/**
+ * A cache of the element strings indexed by the element index. A null value means the string at the index was not
+ * converted yet or has been invalidated. The cache is kept in sync with the elements by calling {@link #insert(int,
+ * int)}, {@link #remove(int, int)} and {@link #invalidate(int, int)} when the elements change.
+ */
+class ElementStringCache {
+    private String[] _strings;
+    private int _size;
+
+    ElementStringCache(int size) {
+        _strings = new String[Math.max(size, 16)];
+        _size = size;
+    }
+
+    int size() {
+        return _size;
+    }
+
+    String get(int index) {
+        return _strings[index];
+    }
+
+    void set(int index, String string) {
+        _strings[index] = string;
+    }
+
+    /**
+     * Inserts empty slots for the elements that were added.
+     *
+     * @param index the index of the first added element
+     * @param count the number of added elements
+     */
+    void insert(int index, int count) {
+        if (count <= 0) {
+            return;
+        }
+        if (_size + count > _strings.length) {
+            _strings = Arrays.copyOf(_strings, Math.max(_size + count, _strings.length * 2));
+        }
+        System.arraycopy(_strings, index, _strings, index + count, _size - index);
+        Arrays.fill(_strings, index, index + count, null);
+        _size += count;
+    }
+
+    /**
+     * Removes the slots of the elements that were removed.
+     *
+     * @param index the index of the first removed element
+     * @param count the number of removed elements
+     */
+    void remove(int index, int count) {
+        if (count <= 0) {
+            return;
+        }
+        System.arraycopy(_strings, index + count, _strings, index, _size - index - count);
+        Arrays.fill(_strings, _size - count, _size, null);
+        _size -= count;
+    }
+
+    /**
+     * Clears the strings of the elements that were changed so that they will be converted again.
+     *
+     * @param from the index of the first changed element, inclusive
+     * @param to   the index of the last changed element, exclusive
+     */
+    void invalidate(int from, int to) {
+        Arrays.fill(_strings, Math.max(from, 0), Math.min(to, _size), null);
+    }
+}
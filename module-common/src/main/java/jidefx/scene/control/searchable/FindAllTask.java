@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2002-2015, JIDE Software Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jidefx.scene.control.searchable;
+
+import javafx.application.Platform;
+import javafx.concurrent.Task;
+
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * {@code FindAllTask} is the task returned from {@link Searchable#findAllAsync(String, Consumer)}. It scans a snapshot
+ * of the element strings on a background thread and publishes the matching indices in batches on the JavaFX
+ * application thread. The value of the task is all the matching indices in ascending order once it succeeds.
+ * <p>
+ * The task stops scanning as soon as it is cancelled. Batches that arrive after the task was cancelled are dropped, so
+ * the batch handler never sees the results of an outdated query.
+ */
+@SuppressWarnings("Convert2Lambda")
+public class FindAllTask extends Task<int[]> {
+    /**
+     * The number of elements scanned between two checks of the cancellation and two batches of results.
+     */
+    private static final int BATCH_SIZE = 16384;
+
+    private final String[] _texts;
+    private final int[] _candidates;
+    private final Predicate<String> _matcher;
+    private final Consumer<int[]> _batchHandler;
+
+    /**
+     * Creates a FindAllTask.
+     *
+     * @param texts        the snapshot of the element strings. Null elements never match.
+     * @param matcher      the matcher to check the element strings. It must be safe to use on a background thread.
+     * @param batchHandler the handler that receives the matching indices in batches on the JavaFX application thread.
+     *                     It could be null if only the final result is needed.
+     */
+    public FindAllTask(String[] texts, Predicate<String> matcher, Consumer<int[]> batchHandler) {
+        this(texts, null, matcher, batchHandler);
+    }
+
+    /**
+     * Creates a FindAllTask that only checks the candidates.
+     *
+     * @param texts        the snapshot of the element strings. Null elements never match.
+     * @param candidates   the indices of the element strings to check in ascending order. Null to check all of them.
+     * @param matcher      the matcher to check the element strings. It must be safe to use on a background thread.
+     * @param batchHandler the handler that receives the matching indices in batches on the JavaFX application thread.
+     *                     It could be null if only the final result is needed.
+     */
+    FindAllTask(String[] texts, int[] candidates, Predicate<String> matcher, Consumer<int[]> batchHandler) {
+        _texts = texts;
+        _candidates = candidates;
+        _matcher = matcher;
+        _batchHandler = batchHandler;
+    }
+
+    @Override
+    protected int[] call() throws Exception {
+        IntList matches = new IntList();
+        int published = 0;
+        int count = _candidates != null ? _candidates.length : _texts.length;
+        for (int start = 0; start < count; start += BATCH_SIZE) {
+            if (isCancelled()) {
+                return null;
+            }
+
+            int end = Math.min(start + BATCH_SIZE, count);
+            for (int i = start; i < end; i++) {
+                int index = _candidates != null ? _candidates[i] : i;
+                String text = _texts[index];
+                if (text != null && _matcher.test(text)) {
+                    matches.add(index);
+                }
+            }
+
+            if (matches.size() > published) {
+                publish(matches, published);
+                published = matches.size();
+            }
+            updateProgress(end, count);
+        }
+        return matches.toArray();
+    }
+
+    private void publish(IntList matches, int from) {
+        if (_batchHandler == null) {
+            return;
+        }
+        final int[] batch = matches.toArray(from, matches.size());
+        Platform.runLater(new Runnable() {
+            @Override
+            public void run() {
+                if (!isCancelled()) {
+                    _batchHandler.accept(batch);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2002-2015, JIDE Software Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jidefx.scene.control.searchable;
+
+import java.util.Arrays;
+
+/**
+ * An approximate string matcher using the bit-parallel algorithm by Wu and Manber, also known as Bitap. It finds if
+ * the pattern occurs anywhere in a string with at most k errors, where an error is an inserted, a deleted or a
+ * replaced character, and returns the smallest number of errors.
+ * <p>
+ * The state of each error level is kept in the bits of a long, so the pattern can have at most {@link
+ * #MAX_PATTERN_LENGTH} characters. A longer pattern is only matched exactly. All the buffers are allocated in the
+ * constructor, so matching a string allocates nothing. Because of that, a FuzzyMatcher must not be used by several
+ * threads at the same time.
+ */
+class FuzzyMatcher {
+    static final int MAX_PATTERN_LENGTH = 63;
+
+    private final String _pattern;
+    private final int _maxErrors;
+    private final long _matchBit;
+    private final long[] _asciiMasks = new long[128];
+    private final char[] _otherChars;
+    private final long[] _otherMasks;
+    private final long[] _rows;
+
+    /**
+     * Creates a FuzzyMatcher.
+     *
+     * @param pattern   the pattern, already case folded if the match is case insensitive
+     * @param maxErrors the maximum number of errors. It is limited to the pattern length minus one so at least one
+     *                  character has to match.
+     */
+    FuzzyMatcher(String pattern, int maxErrors) {
+        _pattern = pattern;
+        int m = pattern.length();
+        if (m == 0 || m > MAX_PATTERN_LENGTH) {
+            _maxErrors = 0;
+            _matchBit = 0;
+            _otherChars = new char[0];
+            _otherMasks = new long[0];
+            _rows = new long[0];
+            return;
+        }
+
+        _maxErrors = Math.max(0, Math.min(maxErrors, m - 1));
+        _matchBit = 1L << (m - 1);
+        char[] otherChars = new char[m];
+        long[] otherMasks = new long[m];
+        int otherCount = 0;
+        for (int i = 0; i < m; i++) {
+            char c = pattern.charAt(i);
+            if (c < 128) {
+                _asciiMasks[c] |= 1L << i;
+                continue;
+            }
+            int j = 0;
+            while (j < otherCount && otherChars[j] != c) {
+                j++;
+            }
+            if (j == otherCount) {
+                otherChars[otherCount++] = c;
+            }
+            otherMasks[j] |= 1L << i;
+        }
+        _otherChars = Arrays.copyOf(otherChars, otherCount);
+        _otherMasks = Arrays.copyOf(otherMasks, otherCount);
+        _rows = new long[_maxErrors + 1];
+    }
+
+    /**
+     * Gets the maximum number of errors that are allowed.
+     *
+     * @return the maximum number of errors.
+     */
+    int getMaxErrors() {
+        return _maxErrors;
+    }
+
+    /**
+     * Gets the smallest number of errors of the pattern occurring in the text.
+     *
+     * @param text the text, already case folded if the match is case insensitive
+     * @return the number of errors. -1 if the pattern doesn't occur in the text within the maximum number of errors.
+     */
+    int getErrors(String text) {
+        if (_matchBit == 0) {
+            return text.contains(_pattern) ? 0 : -1;
+        }
+
+        long[] rows = _rows;
+        int k = _maxErrors;
+        for (int d = 0; d <= k; d++) {
+            rows[d] = (1L << d) - 1; // the first d pattern characters can be deleted
+        }
+        int best = -1;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            long mask = getMask(text.charAt(i));
+            long previous = rows[0];
+            long current = ((previous << 1) | 1) & mask;
+            rows[0] = current;
+            if ((current & _matchBit) != 0) {
+                return 0;
+            }
+            for (int d = 1; d <= k; d++) {
+                long old = rows[d];
+                // match | insertion | substitution | deletion
+                long row = (((old << 1) | 1) & mask) | previous | ((previous << 1) | 1) | ((current << 1) | 1);
+                rows[d] = row;
+                if ((row & _matchBit) != 0 && (best == -1 || d < best)) {
+                    best = d;
+                }
+                previous = old;
+                current = row;
+            }
+        }
+        return best;
+    }
+
+    private long getMask(char c) {
+        if (c < 128) {
+            return _asciiMasks[c];
+        }
+        for (int i = 0; i < _otherChars.length; i++) {
+            if (_otherChars[i] == c) {
+                return _otherMasks[i];
+            }
+        }
+        return 0;
+    }
+}
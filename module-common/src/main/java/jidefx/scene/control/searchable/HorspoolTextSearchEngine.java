@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2002-2015, JIDE Software Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jidefx.scene.control.searchable;
+
+import java.util.Arrays;
+
+/**
+ * The default {@link TextSearchEngine}. Case insensitive searches use the Boyer-Moore-Horspool algorithm on a case
+ * folded copy of the text, which skips up to the length of the pattern at a time so the average search time is
+ * sub-linear. The folded copy is updated incrementally when the text changes, only the characters between the common
+ * prefix and the common suffix of the old and the new text are folded again. Case sensitive searches use {@link
+ * String#indexOf(String, int)} and {@link String#lastIndexOf(String, int)} directly.
+ * <p>
+ * The skip tables are kept for the last pattern, so searching the same pattern again, for example in findNext and
+ * findPrevious, allocates nothing. This class is not thread safe. It is supposed to be used on the JavaFX application
+ * thread only.
+ */
+public class HorspoolTextSearchEngine implements TextSearchEngine {
+    private static final int TABLE_SIZE = 256;
+
+    private String _text = "";
+    private char[] _foldedText;
+    private String _foldedTextSource;
+
+    private String _pattern;
+    private char[] _foldedPattern;
+    private final int[] _forwardShifts = new int[TABLE_SIZE];
+    private final int[] _backwardShifts = new int[TABLE_SIZE];
+
+    @Override
+    public void setText(String text) {
+        _text = text != null ? text : "";
+    }
+
+    @Override
+    public int indexOf(String pattern, int fromIndex, boolean caseSensitive) {
+        if (caseSensitive) {
+            return _text.indexOf(pattern, fromIndex);
+        }
+
+        char[] text = getFoldedText();
+        char[] p = getFoldedPattern(pattern);
+        int n = text.length;
+        int m = p.length;
+        if (fromIndex < 0) {
+            fromIndex = 0;
+        }
+        if (m == 0) {
+            return Math.min(fromIndex, n);
+        }
+        int last = m - 1;
+        char lastChar = p[last];
+        for (int i = fromIndex; i <= n - m; i += _forwardShifts[text[i + last] & (TABLE_SIZE - 1)]) {
+            if (text[i + last] == lastChar) {
+                int j = last - 1;
+                while (j >= 0 && text[i + j] == p[j]) {
+                    j--;
+                }
+                if (j < 0) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int[] indicesOf(String pattern, int fromIndex, int toIndex, boolean caseSensitive) {
+        if (caseSensitive) {
+            // only the region that can hold an occurrence starting before toIndex is searched
+            int from = Math.max(fromIndex, 0);
+            int end = (int) Math.min(_text.length(), (long) toIndex + pattern.length() - 1);
+            IntList indices = new IntList();
+            if (from < end) {
+                String region = _text.substring(from, end);
+                for (int i = region.indexOf(pattern); i != -1; i = region.indexOf(pattern, i + 1)) {
+                    indices.add(from + i);
+                }
+            }
+            return indices.toArray();
+        }
+
+        char[] text = getFoldedText();
+        char[] p = getFoldedPattern(pattern);
+        int m = p.length;
+        int last = m - 1;
+        char lastChar = p[last];
+        int end = Math.min(toIndex - 1, text.length - m);
+        IntList indices = new IntList();
+        for (int i = Math.max(fromIndex, 0); i <= end; ) {
+            if (text[i + last] == lastChar) {
+                int j = last - 1;
+                while (j >= 0 && text[i + j] == p[j]) {
+                    j--;
+                }
+                if (j < 0) {
+                    indices.add(i);
+                    i++; // the occurrences could overlap
+                    continue;
+                }
+            }
+            i += _forwardShifts[text[i + last] & (TABLE_SIZE - 1)];
+        }
+        return indices.toArray();
+    }
+
+    @Override
+    public int lastIndexOf(String pattern, int fromIndex, boolean caseSensitive) {
+        if (caseSensitive) {
+            return _text.lastIndexOf(pattern, fromIndex);
+        }
+
+        char[] text = getFoldedText();
+        char[] p = getFoldedPattern(pattern);
+        int n = text.length;
+        int m = p.length;
+        if (fromIndex < 0) {
+            return -1;
+        }
+        if (fromIndex > n - m) {
+            fromIndex = n - m;
+        }
+        if (m == 0) {
+            return fromIndex;
+        }
+        char firstChar = p[0];
+        for (int i = fromIndex; i >= 0; i -= _backwardShifts[text[i] & (TABLE_SIZE - 1)]) {
+            if (text[i] == firstChar) {
+                int j = 1;
+                while (j < m && text[i + j] == p[j]) {
+                    j++;
+                }
+                if (j == m) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the case folded copy of the text. If the text changed since the last time, only the part between the
+     * common prefix and the common suffix is folded again.
+     */
+    private char[] getFoldedText() {
+        String text = _text;
+        if (_foldedText == null) {
+            _foldedText = new char[text.length()];
+            fold(text, 0, text.length(), _foldedText, 0);
+        }
+        else if (_foldedTextSource != text) {
+            String old = _foldedTextSource;
+            int oldLength = old.length();
+            int newLength = text.length();
+            int max = Math.min(oldLength, newLength);
+            int prefix = 0;
+            while (prefix < max && old.charAt(prefix) == text.charAt(prefix)) {
+                prefix++;
+            }
+            int suffix = 0;
+            while (suffix < max - prefix && old.charAt(oldLength - 1 - suffix) == text.charAt(newLength - 1 - suffix)) {
+                suffix++;
+            }
+            char[] folded = oldLength == newLength ? _foldedText : new char[newLength];
+            if (folded != _foldedText) {
+                System.arraycopy(_foldedText, 0, folded, 0, prefix);
+                System.arraycopy(_foldedText, oldLength - suffix, folded, newLength - suffix, suffix);
+            }
+            fold(text, prefix, newLength - suffix, folded, prefix);
+            _foldedText = folded;
+        }
+        _foldedTextSource = text;
+        return _foldedText;
+    }
+
+    /**
+     * Gets the case folded pattern and prepares the skip tables for it. Nothing is allocated if the pattern is the
+     * same as the last time.
+     */
+    private char[] getFoldedPattern(String pattern) {
+        if (pattern.equals(_pattern)) {
+            return _foldedPattern;
+        }
+        int m = pattern.length();
+        char[] p = new char[m];
+        fold(pattern, 0, m, p, 0);
+
+        // the characters are hashed into the tables. A shared slot keeps the smallest shift so no match is skipped.
+        Arrays.fill(_forwardShifts, Math.max(m, 1));
+        for (int k = 0; k < m - 1; k++) {
+            _forwardShifts[p[k] & (TABLE_SIZE - 1)] = m - 1 - k;
+        }
+        Arrays.fill(_backwardShifts, Math.max(m, 1));
+        for (int k = m - 1; k > 0; k--) {
+            _backwardShifts[p[k] & (TABLE_SIZE - 1)] = k;
+        }
+        _pattern = pattern;
+        _foldedPattern = p;
+        return p;
+    }
+
+    private static void fold(String source, int from, int to, char[] target, int offset) {
+        for (int i = from; i < to; i++) {
+            target[offset + i - from] = Character.toLowerCase(Character.toUpperCase(source.charAt(i)));
+        }
+    }
+}
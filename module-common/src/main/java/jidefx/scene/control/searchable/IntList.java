@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2002-2015, JIDE Software Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jidefx.scene.control.searchable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A growable list of primitive ints. It is used by the Searchable classes to keep element indices without boxing them
+ * into Integers.
+ */
+class IntList {
+    private int[] _data;
+    private int _size;
+
+    IntList() {
+        this(16);
+    }
+
+    IntList(int initialCapacity) {
+        _data = new int[Math.max(initialCapacity, 1)];
+    }
+
+    /**
+     * Creates an IntList that wraps the array without copying it.
+     *
+     * @param values the values of the list
+     */
+    IntList(int[] values) {
+        _data = values.length == 0 ? new int[1] : values;
+        _size = values.length;
+    }
+
+    int size() {
+        return _size;
+    }
+
+    boolean isEmpty() {
+        return _size == 0;
+    }
+
+    int get(int index) {
+        return _data[index];
+    }
+
+    int getLast() {
+        return _data[_size - 1];
+    }
+
+    void set(int index, int value) {
+        _data[index] = value;
+    }
+
+    void add(int value) {
+        if (_size == _data.length) {
+            _data = Arrays.copyOf(_data, _size * 2);
+        }
+        _data[_size++] = value;
+    }
+
+    void insert(int index, int value) {
+        if (_size == _data.length) {
+            _data = Arrays.copyOf(_data, _size * 2);
+        }
+        System.arraycopy(_data, index, _data, index + 1, _size - index);
+        _data[index] = value;
+        _size++;
+    }
+
+    void addAll(IntList list) {
+        if (_size + list._size > _data.length) {
+            _data = Arrays.copyOf(_data, Math.max(_size + list._size, _size * 2));
+        }
+        System.arraycopy(list._data, 0, _data, _size, list._size);
+        _size += list._size;
+    }
+
+    /**
+     * Truncates the list to the specified size. It is used after the values are filtered in place using {@link
+     * #set(int, int)}.
+     *
+     * @param size the new size. It must not be larger than the current size.
+     */
+    void truncate(int size) {
+        _size = size;
+    }
+
+    void clear() {
+        _size = 0;
+    }
+
+    /**
+     * Searches the value in the list using the binary search algorithm. The list must be sorted in ascending order.
+     *
+     * @param value the value to be searched for
+     * @return the same as {@link Arrays#binarySearch(int[], int, int, int)}.
+     */
+    int binarySearch(int value) {
+        return Arrays.binarySearch(_data, 0, _size, value);
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(_data, _size);
+    }
+
+    int[] toArray(int from, int to) {
+        return Arrays.copyOfRange(_data, from, to);
+    }
+
+    List<Integer> toList() {
+        List<Integer> list = new ArrayList<>(_size);
+        for (int i = 0; i < _size; i++) {
+            list.add(_data[i]);
+        }
+        return list;
+    }
+}
@@ -68,15 +68,25 @@ public class ListViewSearchable<T> extends Searchable<T> {
             _listChangeListener = new ListChangeListener<T>() {
                 @Override
                 public void onChanged(Change<? extends T> c) {
+                    itemsChanged(c, 1);
                     hidePopup();
                 }
             };
         }
-        ((ListView<T>) _node).getItems().addListener(_listChangeListener);
+        if (((ListView<T>) _node).getItems() != null) {
+            ((ListView<T>) _node).getItems().addListener(_listChangeListener);
+        }
         if (_itemsChangeListener == null) {
             _itemsChangeListener = new ChangeListener<ObservableList<T>>() {
                 @Override
                 public void changed(ObservableValue<? extends ObservableList<T>> observable, ObservableList<T> oldValue, ObservableList<T> newValue) {
+                    if (oldValue != null) {
+                        oldValue.removeListener(_listChangeListener);
+                    }
+                    if (newValue != null) {
+                        newValue.addListener(_listChangeListener);
+                    }
+                    resetElementStringCache();
                     hidePopup();
                 }
             };
@@ -87,7 +97,9 @@ public class ListViewSearchable<T> extends Searchable<T> {
     @Override
     public void uninstallListeners() {
         if (_listChangeListener != null) {
-            ((ListView<T>) _node).getItems().removeListener(_listChangeListener);
+            if (((ListView<T>) _node).getItems() != null) {
+                ((ListView<T>) _node).getItems().removeListener(_listChangeListener);
+            }
             _listChangeListener = null;
         }
         if (_itemsChangeListener != null) {
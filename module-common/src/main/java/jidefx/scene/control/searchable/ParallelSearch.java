@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2002-2015, JIDE Software Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jidefx.scene.control.searchable;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Scans a snapshot of the element strings in parallel using the common {@link ForkJoinPool}. The index range is split
+ * into segments. {@link #findFirst(String[], Predicate)} and {@link #findLast(String[], Predicate)} reduce the segment
+ * results by the minimum and maximum index and skip the segments that can't improve the result found so far. {@link
+ * #findAll(String[], Predicate)} concatenates the segment results in order.
+ * <p>
+ * The matcher is called from several threads at the same time so it must be thread safe.
+ */
+class ParallelSearch {
+    /**
+     * The segments are not split further once they are smaller than this size.
+     */
+    static final int SEGMENT_SIZE = 4096;
+
+    private ParallelSearch() {
+    }
+
+    /**
+     * Finds the smallest index of the element string that matches.
+     *
+     * @param texts   the element strings. Null elements never match.
+     * @param matcher the matcher
+     * @return the smallest matching index. -1 if nothing matches.
+     */
+    static int findFirst(String[] texts, Predicate<String> matcher) {
+        AtomicInteger result = new AtomicInteger(Integer.MAX_VALUE);
+        ForkJoinPool.commonPool().invoke(new FindFirstAction(texts, matcher, 0, texts.length, result));
+        return result.get() == Integer.MAX_VALUE ? -1 : result.get();
+    }
+
+    /**
+     * Finds the largest index of the element string that matches.
+     *
+     * @param texts   the element strings. Null elements never match.
+     * @param matcher the matcher
+     * @return the largest matching index. -1 if nothing matches.
+     */
+    static int findLast(String[] texts, Predicate<String> matcher) {
+        AtomicInteger result = new AtomicInteger(-1);
+        ForkJoinPool.commonPool().invoke(new FindLastAction(texts, matcher, 0, texts.length, result));
+        return result.get();
+    }
+
+    /**
+     * Finds the indices of all the element strings that match.
+     *
+     * @param texts   the element strings. Null elements never match.
+     * @param matcher the matcher
+     * @return the matching indices in ascending order.
+     */
+    static IntList findAll(String[] texts, Predicate<String> matcher) {
+        return ForkJoinPool.commonPool().invoke(new FindAllAction(texts, matcher, 0, texts.length));
+    }
+
+    private static boolean matches(String[] texts, Predicate<String> matcher, int index) {
+        String text = texts[index];
+        return text != null && matcher.test(text);
+    }
+
+    private static class FindFirstAction extends RecursiveAction {
+        private static final long serialVersionUID = 2797435749927855576L;
+
+        private final String[] _texts;
+        private final Predicate<String> _matcher;
+        private final int _from;
+        private final int _to;
+        private final AtomicInteger _result;
+
+        FindFirstAction(String[] texts, Predicate<String> matcher, int from, int to, AtomicInteger result) {
+            _texts = texts;
+            _matcher = matcher;
+            _from = from;
+            _to = to;
+            _result = result;
+        }
+
+        @Override
+        protected void compute() {
+            if (_from >= _result.get()) {
+                return; // a smaller index has been found
+            }
+            if (_to - _from > SEGMENT_SIZE) {
+                int middle = (_from + _to) >>> 1;
+                invokeAll(new FindFirstAction(_texts, _matcher, _from, middle, _result),
+                        new FindFirstAction(_texts, _matcher, middle, _to, _result));
+                return;
+            }
+            for (int i = _from; i < _to && i < _result.get(); i++) {
+                if (matches(_texts, _matcher, i)) {
+                    int current;
+                    while (i < (current = _result.get()) && !_result.compareAndSet(current, i)) {
+                        // retry
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    private static class FindLastAction extends RecursiveAction {
+        private static final long serialVersionUID = -3652992507230399438L;
+
+        private final String[] _texts;
+        private final Predicate<String> _matcher;
+        private final int _from;
+        private final int _to;
+        private final AtomicInteger _result;
+
+        FindLastAction(String[] texts, Predicate<String> matcher, int from, int to, AtomicInteger result) {
+            _texts = texts;
+            _matcher = matcher;
+            _from = from;
+            _to = to;
+            _result = result;
+        }
+
+        @Override
+        protected void compute() {
+            if (_to <= _result.get()) {
+                return; // a larger index has been found
+            }
+            if (_to - _from > SEGMENT_SIZE) {
+                int middle = (_from + _to) >>> 1;
+                invokeAll(new FindLastAction(_texts, _matcher, middle, _to, _result),
+                        new FindLastAction(_texts, _matcher, _from, middle, _result));
+                return;
+            }
+            for (int i = _to - 1; i >= _from && i > _result.get(); i--) {
+                if (matches(_texts, _matcher, i)) {
+                    int current;
+                    while (i > (current = _result.get()) && !_result.compareAndSet(current, i)) {
+                        // retry
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    private static class FindAllAction extends RecursiveTask<IntList> {
+        private static final long serialVersionUID = 831028107462591323L;
+
+        private final String[] _texts;
+        private final Predicate<String> _matcher;
+        private final int _from;
+        private final int _to;
+
+        FindAllAction(String[] texts, Predicate<String> matcher, int from, int to) {
+            _texts = texts;
+            _matcher = matcher;
+            _from = from;
+            _to = to;
+        }
+
+        @Override
+        protected IntList compute() {
+            if (_to - _from > SEGMENT_SIZE) {
+                int middle = (_from + _to) >>> 1;
+                FindAllAction left = new FindAllAction(_texts, _matcher, _from, middle);
+                left.fork();
+                IntList right = new FindAllAction(_texts, _matcher, middle, _to).compute();
+                IntList result = left.join();
+                result.addAll(right);
+                return result;
+            }
+            IntList result = new IntList();
+            for (int i = _from; i < _to; i++) {
+                if (matches(_texts, _matcher, i)) {
+                    result.add(i);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2002-2015, JIDE Software Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jidefx.scene.control.searchable;
+
+import jidefx.utils.WildcardSupport;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * {@code SearchPatternCache} is a size-bounded cache of the compiled search patterns shared by all the Searchables.
+ * The regular expressions and the wildcard matchers are compiled once for each combination of the searching text and
+ * the matching options and then reused, so switching between a few searching texts or having several Searchables on
+ * the same screen doesn't compile the same pattern again and again. When the cache is full, the least recently used
+ * pattern is dropped.
+ * <p>
+ * The hit and miss counts can be used to check if the cache is large enough. The methods of this class are thread
+ * safe.
+ */
+public class SearchPatternCache {
+    /**
+     * The default maximum number of the patterns in the shared cache.
+     */
+    public static final int DEFAULT_MAX_SIZE = 64;
+
+    private static final SearchPatternCache INSTANCE = new SearchPatternCache(DEFAULT_MAX_SIZE);
+
+    private final Map<String, Object> _cache = new LinkedHashMap<String, Object>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+            return size() > _maxSize;
+        }
+    };
+    private int _maxSize;
+    private long _hitCount;
+    private long _missCount;
+
+    /**
+     * Gets the cache shared by all the Searchables.
+     *
+     * @return the shared SearchPatternCache.
+     */
+    public static SearchPatternCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Creates a SearchPatternCache.
+     *
+     * @param maxSize the maximum number of the patterns in the cache
+     */
+    public SearchPatternCache(int maxSize) {
+        _maxSize = maxSize;
+    }
+
+    /**
+     * Gets the compiled regular expression. It is compiled only if it is not in the cache.
+     *
+     * @param regex the regular expression
+     * @param flags the match flags, the same as in {@link Pattern#compile(String, int)}
+     * @return the compiled Pattern.
+     * @throws java.util.regex.PatternSyntaxException if the regular expression has a syntax error.
+     */
+    public Pattern getPattern(String regex, int flags) {
+        String key = "r" + flags + ':' + regex; //NON-NLS
+        synchronized (this) {
+            Object pattern = get(key);
+            if (pattern != null) {
+                return (Pattern) pattern;
+            }
+        }
+        Pattern pattern = Pattern.compile(regex, flags);
+        synchronized (this) {
+            _cache.put(key, pattern);
+        }
+        return pattern;
+    }
+
+    /**
+     * Gets the matcher compiled from the string with wildcards by {@link WildcardSupport#compile(String, boolean,
+     * boolean)}. It is compiled only if it is not in the cache. The quantifiers of the WildcardSupport are part of the
+     * key, so different WildcardSupports that use the same quantifiers share the matchers. Because of that, it should
+     * not be used for a WildcardSupport that overrides {@link WildcardSupport#compile(String, boolean, boolean)}.
+     * Searchable calls such a WildcardSupport directly.
+     *
+     * @param s               the string with wildcards
+     * @param wildcardSupport the WildcardSupport
+     * @param fromStart       true if the match must start at the beginning of the string
+     * @param caseSensitive   true if the characters are compared case sensitively
+     * @return the compiled matcher.
+     */
+    public Predicate<String> getWildcardMatcher(String s, WildcardSupport wildcardSupport, boolean fromStart, boolean caseSensitive) {
+        String key = "w" + wildcardSupport.getZeroOrOneQuantifier() + wildcardSupport.getZeroOrMoreQuantifier() //NON-NLS
+                + wildcardSupport.getOneOrMoreQuantifier() + (fromStart ? 'S' : 's') + (caseSensitive ? 'C' : 'c') + ':' + s;
+        synchronized (this) {
+            // only the wildcard matchers are stored under the keys starting with "w"
+            @SuppressWarnings("unchecked")
+            Predicate<String> matcher = (Predicate<String>) get(key);
+            if (matcher != null) {
+                return matcher;
+            }
+        }
+        Predicate<String> matcher = wildcardSupport.compile(s, fromStart, caseSensitive);
+        synchronized (this) {
+            _cache.put(key, matcher);
+        }
+        return matcher;
+    }
+
+    private Object get(String key) {
+        Object value = _cache.get(key);
+        if (value != null) {
+            _hitCount++;
+        }
+        else {
+            _missCount++;
+        }
+        return value;
+    }
+
+    /**
+     * Gets the maximum number of the patterns in the cache.
+     *
+     * @return the maximum number of the patterns.
+     */
+    public synchronized int getMaxSize() {
+        return _maxSize;
+    }
+
+    /**
+     * Sets the maximum number of the patterns in the cache. If there are more patterns than that, the least recently
+     * used ones are dropped the next time a pattern is added.
+     *
+     * @param maxSize the maximum number of the patterns.
+     */
+    public synchronized void setMaxSize(int maxSize) {
+        _maxSize = maxSize;
+    }
+
+    /**
+     * Gets the number of the patterns in the cache.
+     *
+     * @return the number of the patterns.
+     */
+    public synchronized int getSize() {
+        return _cache.size();
+    }
+
+    /**
+     * Gets the number of times a pattern was found in the cache.
+     *
+     * @return the hit count.
+     */
+    public synchronized long getHitCount() {
+        return _hitCount;
+    }
+
+    /**
+     * Gets the number of times a pattern was not in the cache and had to be compiled.
+     *
+     * @return the miss count.
+     */
+    public synchronized long getMissCount() {
+        return _missCount;
+    }
+
+    /**
+     * Removes all the patterns from the cache and resets the hit and miss counts.
+     */
+    public synchronized void clear() {
+        _cache.clear();
+        _hitCount = 0;
+        _missCount = 0;
+    }
+}
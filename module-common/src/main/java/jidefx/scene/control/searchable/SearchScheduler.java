@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2002-2015, JIDE Software Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jidefx.scene.control.searchable;
+
+import javafx.animation.AnimationTimer;
+import javafx.util.Duration;
+
+/**
+ * Schedules the search of the typed text in the animation pulses. Each call to {@link #schedule(String, Duration)}
+ * replaces the text that is still waiting and moves the due time, so the keys typed in quick succession result in
+ * only one search of the last text. The search runs in the first pulse after the due time, which is also the pulse
+ * that renders the selection it makes.
+ * <p>
+ * The timer only runs while a search is waiting.
+ */
+abstract class SearchScheduler extends AnimationTimer {
+    private String _pendingText;
+    private long _dueTime;
+    private boolean _started;
+
+    /**
+     * Called in the animation pulse when the searching delay has passed since the last text was scheduled.
+     *
+     * @param text the text to search
+     */
+    protected abstract void search(String text);
+
+    /**
+     * Schedules the search of the text, replacing the text that is still waiting.
+     *
+     * @param text  the text to search
+     * @param delay the delay before searching. The search runs in the next pulse if it is zero.
+     */
+    void schedule(String text, Duration delay) {
+        _pendingText = text;
+        _dueTime = System.nanoTime() + (long) (delay.toMillis() * 1000000);
+        if (!_started) {
+            _started = true;
+            start();
+        }
+    }
+
+    /**
+     * Drops the text that is waiting to be searched.
+     */
+    void cancel() {
+        _pendingText = null;
+        if (_started) {
+            _started = false;
+            stop();
+        }
+    }
+
+    @Override
+    public void handle(long now) {
+        if (_pendingText == null || now < _dueTime) {
+            return;
+        }
+        String text = _pendingText;
+        cancel();
+        search(text);
+    }
+}
@@ -33,6 +33,8 @@ import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
+import javafx.concurrent.WorkerStateEvent;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
 import javafx.geometry.Bounds;
@@ -45,13 +47,19 @@ import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.stage.Window;
 import javafx.util.Duration;
+import jidefx.utils.CommonUtils;
 import jidefx.utils.WildcardSupport;
 
 import java.text.MessageFormat;
-import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
@@ -108,8 +116,45 @@ public abstract class Searchable<T> {
     protected final Node _node;
     private SearchPopup _popup;
 
-    private transient Pattern _pattern;
-    private transient String _searchText;
+    // the matcher of the last searching text
+    private transient Predicate<String> _matcher;
+    private transient String _matcherText;
+    private transient boolean _matcherCaseSensitive;
+    private transient boolean _matcherFromStart;
+    private transient boolean _matcherWildcardEnabled;
+    private transient WildcardSupport _matcherWildcardSupport;
+
+    // the indices of the elements matching the last query, used to narrow down the next query
+    private transient IntList _matches;
+    private transient String _matchesText;
+    private transient int _matchesElementCount;
+    private transient boolean _matchesCaseSensitive;
+    private transient boolean _matchesFromStart;
+    private transient boolean _matchesWildcardEnabled;
+    private transient WildcardSupport _matchesWildcardSupport;
+    private transient int _matchesGeneration;
+    // the searching text of the last query, used to decide if the matches of the next query are worth collecting
+    private transient String _queryText;
+
+    // the converted and case folded element strings, only used when elementStringCacheEnabled is true
+    private transient ElementStringCache _elementStringCache;
+    private transient boolean _elementStringCacheCaseSensitive;
+
+    // the trigram index of the element strings, only used when trigramIndexEnabled is true
+    private transient TrigramIndex _trigramIndex;
+
+    // the best matches of the last query ordered by the number of errors, only used when fuzzySearchEnabled is true
+    private transient IntList _rankedMatches;
+    private transient String _rankedMatchesText;
+    private transient int _rankedMatchesElementCount;
+    private transient boolean _rankedMatchesCaseSensitive;
+    private transient int _rankedMatchesMaxErrors;
+
+    // the statistics of the current search, only collected when statisticsEnabled is true
+    private transient SearchableStatistics _statistics;
+    private transient long _visitedCount;
+    private transient long _conversionCount;
+    private transient long _compilationCount;
 
     // listeners
     protected ChangeListener<Boolean> _visibleListener;
@@ -138,10 +183,16 @@ public abstract class Searchable<T> {
     private BooleanProperty _fromStartProperty;
     private BooleanProperty _wildcardEnabledProperty;
     private WildcardSupport _wildcardSupport = null;
+    private BooleanProperty _fuzzySearchEnabledProperty;
+    private IntegerProperty _fuzzyMaxErrorsProperty;
 
     // searching behavior
     private ObjectProperty<Duration> _searchingDelayProperty;
     private BooleanProperty _repeatsProperty;
+    private BooleanProperty _elementStringCacheEnabledProperty;
+    private BooleanProperty _parallelSearchEnabledProperty;
+    private BooleanProperty _trigramIndexEnabledProperty;
+    private BooleanProperty _statisticsEnabledProperty;
 
     // UI options
     private StringProperty _searchingLabelProperty;
@@ -155,6 +206,12 @@ public abstract class Searchable<T> {
 
     private Set<Integer> _selection;
 
+    private FindAllTask _findAllTask;
+
+    // the search of the typed text
+    private SearchScheduler _searchScheduler;
+    private FindAllTask _searchTask;
+
     private ChangeListener<Number> _windowPositionChangeListener;
 
     /**
@@ -275,6 +332,9 @@ public abstract class Searchable<T> {
             }
         }
         setCursor(-1);
+        cancelSearch();
+        resetMatches();
+        cancelFindAllAsync();
     }
 
     /**
@@ -346,6 +406,9 @@ public abstract class Searchable<T> {
      * @return true if matches.
      */
     protected boolean compare(T element, String searchingText) {
+        if (_statistics != null) {
+            _conversionCount++;
+        }
         String text = convertElementToString(element);
         return text != null && compareAsString(isCaseSensitive() ? text : text.toLowerCase(), searchingText);
     }
@@ -359,34 +422,555 @@ public abstract class Searchable<T> {
      * @return true if matches.
      */
     protected boolean compareAsString(String text, String searchingText) {
+        return getMatcher(searchingText).test(text);
+    }
+
+    /**
+     * Creates the matcher that checks if an element string matches the searching text, using the current case
+     * sensitive, from start and wildcard settings. The matcher doesn't depend on the state of this Searchable so it
+     * can be used on a background thread, which is how {@link #findAllAsync(String, Consumer)} uses it.
+     * <p>
+     * {@link #compareAsString(String, String)} uses this method too. So if you want to change how the element strings
+     * are matched, overriding this method will change both the synchronous and the asynchronous searches.
+     *
+     * @param searchingText the searching text, already converted to lower case if the search is case insensitive
+     * @return a matcher that returns true if the element string matches the searching text.
+     */
+    protected Predicate<String> createMatcher(final String searchingText) {
         if (searchingText == null || searchingText.trim().length() == 0) {
+            return MATCH_ALL;
+        }
+
+        if (isFuzzySearchEnabled()) {
+            final int maxErrors = getFuzzyMaxErrors();
+            final ThreadLocal<FuzzyMatcher> matchers = new ThreadLocal<FuzzyMatcher>() {
+                @Override
+                protected FuzzyMatcher initialValue() {
+                    return new FuzzyMatcher(searchingText, maxErrors);
+                }
+            };
+            return new Predicate<String>() {
+                @Override
+                public boolean test(String text) {
+                    return matchers.get().getErrors(text) != -1;
+                }
+            };
+        }
+
+        final boolean fromStart = isFromStart();
+        if (isWildcardEnabled()) {
+            WildcardSupport wildcardSupport = getWildcardSupport();
+            String s = wildcardSupport.convert(searchingText);
+            if (!searchingText.equals(s)) {
+                if (WILDCARD_COMPILE_OVERRIDDEN.get(wildcardSupport.getClass())) {
+                    return wildcardSupport.compile(searchingText, fromStart, isCaseSensitive());
+                }
+                if (!WILDCARD_CONVERT_OVERRIDDEN.get(wildcardSupport.getClass())) {
+                    return SearchPatternCache.getInstance().getWildcardMatcher(searchingText, wildcardSupport, fromStart, isCaseSensitive());
+                }
+                try {
+                    final Pattern pattern = SearchPatternCache.getInstance().getPattern(fromStart ? "^" + s : s, isCaseSensitive() ? 0 : Pattern.CASE_INSENSITIVE);
+                    return new Predicate<String>() {
+                        @Override
+                        public boolean test(String text) {
+                            return pattern.matcher(text).find();
+                        }
+                    };
+                }
+                catch (PatternSyntaxException e) {
+                    return MATCH_NONE;
+                }
+            }
+        }
+
+        return new Predicate<String>() {
+            @Override
+            public boolean test(String text) {
+                return fromStart ? text.startsWith(searchingText) : text.contains(searchingText);
+            }
+        };
+    }
+
+    // a WildcardSupport that overrides convert but not compile still gets its own regular expression
+    private static final ClassValue<Boolean> WILDCARD_CONVERT_OVERRIDDEN = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return isWildcardSupportOverridden(type, "convert", String.class); //NON-NLS
+        }
+    };
+
+    // the matchers of an overridden compile are not shared through the SearchPatternCache
+    private static final ClassValue<Boolean> WILDCARD_COMPILE_OVERRIDDEN = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return isWildcardSupportOverridden(type, "compile", String.class, boolean.class, boolean.class); //NON-NLS
+        }
+    };
+
+    private static boolean isWildcardSupportOverridden(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            return type.getMethod(name, parameterTypes).getDeclaringClass() != WildcardSupport.class;
+        }
+        catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static final Predicate<String> MATCH_ALL = new Predicate<String>() {
+        @Override
+        public boolean test(String text) {
             return true;
         }
+    };
 
-        if (!isWildcardEnabled()) {
-            return (searchingText.equals(text) || searchingText.length() > 0 && (isFromStart() ? text.startsWith(searchingText) : text.contains(searchingText)));
+    private static final Predicate<String> MATCH_NONE = new Predicate<String>() {
+        @Override
+        public boolean test(String text) {
+            return false;
         }
-        else {
-            // use the previous pattern since nothing changed.
-            if (_searchText != null && _searchText.equals(searchingText) && _pattern != null) {
-                return _pattern.matcher(text).find();
+    };
+
+    /**
+     * Gets the matcher for the searching text. The matcher is reused until the searching text or any of the matching
+     * options changes.
+     */
+    private Predicate<String> getMatcher(String searchingText) {
+        if (_matcher == null || !CommonUtils.equals(_matcherText, searchingText) || _matcherCaseSensitive != isCaseSensitive()
+                || _matcherFromStart != isFromStart() || _matcherWildcardEnabled != isWildcardEnabled()
+                || _matcherWildcardSupport != getWildcardSupport()) {
+            _matcher = createMatcher(searchingText);
+            if (_statistics != null) {
+                _compilationCount++;
             }
+            _matcherText = searchingText;
+            _matcherCaseSensitive = isCaseSensitive();
+            _matcherFromStart = isFromStart();
+            _matcherWildcardEnabled = isWildcardEnabled();
+            _matcherWildcardSupport = getWildcardSupport();
+        }
+        return _matcher;
+    }
 
+    /**
+     * Checks if the element at the specified index matches the searching text.
+     *
+     * @param index         the index of the element
+     * @param searchingText the searching text
+     * @return true if matches.
+     */
+    private boolean compareAt(int index, String searchingText) {
+        if (_statistics != null) {
+            _visitedCount++;
+        }
+        if (isElementStringCacheEnabled()) {
+            String text = getNormalizedElementAtAsString(index);
+            return text != null && compareAsString(text, searchingText);
+        }
+        return compare(getElementAt(index), searchingText);
+    }
+
+    /**
+     * Gets the element at the specified index as the string that is compared with the searching text, which is the
+     * string returned from {@link #getElementAtAsString(int)}, converted to lower case if the search is case
+     * insensitive. If {@link #isElementStringCacheEnabled()} is true, the string is only converted the first time and
+     * then kept in the cache until the element changes.
+     *
+     * @param index the index.
+     * @return the element at the index converted to string.
+     */
+    protected String getNormalizedElementAtAsString(int index) {
+        if (!isElementStringCacheEnabled()) {
+            return normalize(getElementAtAsString(index));
+        }
+
+        int count = getElementCount();
+        if (_elementStringCache == null || _elementStringCache.size() != count || _elementStringCacheCaseSensitive != isCaseSensitive()) {
+            _elementStringCache = new ElementStringCache(count);
+            _elementStringCacheCaseSensitive = isCaseSensitive();
+        }
+        String text = _elementStringCache.get(index);
+        if (text == null) {
+            text = normalize(getElementAtAsString(index));
+            _elementStringCache.set(index, text);
+        }
+        return text;
+    }
+
+    /**
+     * Converts the element string to the form that is compared with the searching text. It is the string itself if
+     * the search is case sensitive or the string in lower case otherwise.
+     *
+     * @param text the element string
+     * @return the normalized string.
+     */
+    protected String normalize(String text) {
+        return text == null || isCaseSensitive() ? text : text.toLowerCase();
+    }
+
+    /**
+     * Clears the element string cache and the trigram index. Subclasses should call this method when the elements
+     * changed in a way that can't be described by {@link #elementsAdded(int, int)}, {@link #elementsRemoved(int, int)}
+     * or {@link #elementsUpdated(int, int)}.
+     */
+    protected void resetElementStringCache() {
+        _elementStringCache = null;
+        _trigramIndex = null;
+        resetMatches();
+    }
+
+    /**
+     * Gets the trigram index of the element strings. The index is built the first time it is used and then kept in
+     * sync with the elements until it has too many stale entries.
+     *
+     * @param count the element count
+     * @return the trigram index.
+     */
+    private TrigramIndex getTrigramIndex(int count) {
+        if (_trigramIndex == null || _trigramIndex.size() != count || _trigramIndex.isStale()) {
+            _trigramIndex = new TrigramIndex();
+            for (int i = 0; i < count; i++) {
+                _trigramIndex.append(getElementAtAsString(i));
+            }
+        }
+        return _trigramIndex;
+    }
+
+    /**
+     * Gets the indices of the elements that could match the searching text according to the trigram index.
+     *
+     * @param str   the searching text, already converted to lower case if the search is case insensitive
+     * @param count the element count
+     * @return the candidate indices in ascending order. Null if the trigram index is disabled or the searching text is
+     *         too short to narrow down the candidates.
+     */
+    private IntList getTrigramCandidates(String str, int count) {
+        if (!isTrigramIndexEnabled() || str.trim().length() < 3) {
+            return null;
+        }
+        char[] wildcards;
+        if (isWildcardEnabled()) {
             WildcardSupport wildcardSupport = getWildcardSupport();
-            String s = wildcardSupport.convert(searchingText);
-            if (searchingText.equals(s)) {
-                return isFromStart() ? text.startsWith(searchingText) : text.contains(searchingText);
+            wildcards = new char[]{wildcardSupport.getZeroOrOneQuantifier(), wildcardSupport.getZeroOrMoreQuantifier(), wildcardSupport.getOneOrMoreQuantifier()};
+        }
+        else {
+            wildcards = new char[0];
+        }
+        return getTrigramIndex(count).getCandidates(str, wildcards);
+    }
+
+    /**
+     * Notifies the Searchable that new elements were inserted so that the caches can be updated.
+     *
+     * @param index the index of the first added element
+     * @param count the number of the added elements
+     */
+    protected void elementsAdded(int index, int count) {
+        resetMatches();
+        if (_elementStringCache != null) {
+            _elementStringCache.insert(index, count);
+        }
+        if (_trigramIndex != null) {
+            String[] texts = new String[count];
+            for (int i = 0; i < count; i++) {
+                texts[i] = getElementAtAsString(index + i);
             }
-            _searchText = searchingText;
+            _trigramIndex.insert(index, texts);
+        }
+    }
 
-            try {
-                _pattern = Pattern.compile(isFromStart() ? "^" + s : s, isCaseSensitive() ? 0 : Pattern.CASE_INSENSITIVE);
-                return _pattern.matcher(text).find();
+    /**
+     * Notifies the Searchable that elements were removed so that the caches can be updated.
+     *
+     * @param index the index of the first removed element
+     * @param count the number of the removed elements
+     */
+    protected void elementsRemoved(int index, int count) {
+        resetMatches();
+        if (_elementStringCache != null) {
+            _elementStringCache.remove(index, count);
+        }
+        if (_trigramIndex != null) {
+            _trigramIndex.remove(index, count);
+        }
+    }
+
+    /**
+     * Notifies the Searchable that elements were changed or moved so that the caches can be updated.
+     *
+     * @param from the index of the first changed element, inclusive
+     * @param to   the index of the last changed element, exclusive
+     */
+    protected void elementsUpdated(int from, int to) {
+        resetMatches();
+        if (_elementStringCache != null) {
+            _elementStringCache.invalidate(from, to);
+        }
+        if (_trigramIndex != null) {
+            for (int i = from; i < to; i++) {
+                _trigramIndex.update(i, getElementAtAsString(i));
+            }
+        }
+    }
+
+    /**
+     * Updates the caches based on the change of the items in the control. It is called by the ListChangeListener that
+     * subclasses install on the items.
+     *
+     * @param change          the change of the items
+     * @param elementsPerItem the number of the elements for each item. For example, in the cell selection mode of
+     *                        TableView, each item is a row which has as many elements as the columns.
+     */
+    protected void itemsChanged(ListChangeListener.Change<?> change, int elementsPerItem) {
+        resetMatches();
+        if (_elementStringCache == null && _trigramIndex == null) {
+            return;
+        }
+        if (elementsPerItem <= 0) {
+            resetElementStringCache();
+            return;
+        }
+        while (change.next()) {
+            int from = change.getFrom() * elementsPerItem;
+            if (change.wasPermutated() || change.wasUpdated()) {
+                elementsUpdated(from, change.getTo() * elementsPerItem);
+            }
+            else {
+                if (change.wasRemoved()) {
+                    elementsRemoved(from, change.getRemovedSize() * elementsPerItem);
+                }
+                if (change.wasAdded()) {
+                    elementsAdded(from, change.getAddedSize() * elementsPerItem);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if all the elements matching the text also match the previous text, so that the matches of the previous
+     * text can be narrowed down instead of searching all the elements again. It is true when the text extends the
+     * previous text, which is the case when user types in one more character.
+     * <p>
+     * Please override this method and return false if you overrode {@link #compare(Object, String)} or {@link
+     * #compareAsString(String, String)} and a longer searching text could match an element that the shorter one
+     * doesn't match.
+     *
+     * @param previousText the previous searching text
+     * @param text         the new searching text
+     * @return true if the matches of the new text are always a subset of the matches of the previous text.
+     */
+    protected boolean isNarrowable(String previousText, String text) {
+        return text.startsWith(previousText);
+    }
+
+    /**
+     * Gets the indices of the elements that match the searching text in ascending order. If the matches of the
+     * previous query can be narrowed down, only those elements are tested again. Otherwise all elements are tested.
+     *
+     * @param str   the searching text, already converted to lower case if the search is case insensitive
+     * @param count the element count
+     * @return the indices of the matching elements.
+     */
+    private IntList getMatches(String str, int count) {
+        IntList matches = getNarrowedMatches(str, count);
+        if (matches != null) {
+            return matches;
+        }
+
+        IntList candidates = getTrigramCandidates(str, count);
+        if (candidates != null) {
+            matches = new IntList();
+            for (int i = 0; i < candidates.size(); i++) {
+                int index = candidates.get(i);
+                if (index < count && compareAt(index, str)) {
+                    matches.add(index);
+                }
+            }
+        }
+        else if (isParallelSearch(count)) {
+            if (_statistics != null) {
+                _visitedCount += count;
+            }
+            matches = ParallelSearch.findAll(getNormalizedElementStrings(), getMatcher(str));
+        }
+        else {
+            matches = new IntList();
+            for (int i = 0; i < count; i++) {
+                if (compareAt(i, str)) {
+                    matches.add(i);
+                }
+            }
+        }
+        setMatches(matches, str, count);
+        return matches;
+    }
+
+    /**
+     * Gets the indices of the elements that match the searching text for findNext, findPrevious and findFromCursor.
+     * The matches are only collected when the previous query can be narrowed down to this one, which is the case when
+     * user keeps typing or repeats the search, so that the next query only needs to test them again. For the first
+     * query, null is returned so that the caller can stop at the first match.
+     *
+     * @param str   the searching text, already converted to lower case if the search is case insensitive
+     * @param count the element count
+     * @return the indices of the matching elements. Null if the caller should search the elements one by one.
+     */
+    private IntList getQueryMatches(String str, int count) {
+        IntList matches = getNarrowedMatches(str, count);
+        if (matches == null && _queryText != null && (str.equals(_queryText) || isNarrowable(_queryText, str))) {
+            matches = getMatches(str, count);
+        }
+        _queryText = str;
+        return matches;
+    }
+
+    /**
+     * Gets the indices of the elements that match the searching text only if they can be derived from the matches of
+     * the previous query without testing all the elements.
+     *
+     * @param str   the searching text, already converted to lower case if the search is case insensitive
+     * @param count the element count
+     * @return the indices of the matching elements. Null if all the elements have to be tested.
+     */
+    private IntList getNarrowedMatches(String str, int count) {
+        if (!isMatchesNarrowable(str, count)) {
+            return null;
+        }
+        if (str.equals(_matchesText)) {
+            return _matches;
+        }
+
+        // filter the previous matches in place
+        IntList matches = _matches;
+        int size = 0;
+        for (int i = 0; i < matches.size(); i++) {
+            int index = matches.get(i);
+            if (compareAt(index, str)) {
+                matches.set(size++, index);
+            }
+        }
+        matches.truncate(size);
+        _matchesText = str;
+        return matches;
+    }
+
+    /**
+     * Checks if the matches of the previous query can be narrowed down to the matches of the searching text.
+     *
+     * @param str   the searching text, already converted to lower case if the search is case insensitive
+     * @param count the element count
+     * @return true if only the previous matches need to be tested again.
+     */
+    private boolean isMatchesNarrowable(String str, int count) {
+        if (_matches == null || _matchesElementCount != count || _matchesCaseSensitive != isCaseSensitive()
+                || _matchesFromStart != isFromStart() || _matchesWildcardEnabled != isWildcardEnabled()
+                || _matchesWildcardSupport != getWildcardSupport()) {
+            return false;
+        }
+        return str.equals(_matchesText) || isNarrowable(_matchesText, str);
+    }
+
+    private void setMatches(IntList matches, String str, int count) {
+        _matches = matches;
+        _matchesText = str;
+        _matchesElementCount = count;
+        _matchesCaseSensitive = isCaseSensitive();
+        _matchesFromStart = isFromStart();
+        _matchesWildcardEnabled = isWildcardEnabled();
+        _matchesWildcardSupport = getWildcardSupport();
+    }
+
+    /**
+     * Clears the matches of the previous query so that the next query will test all the elements. It is called
+     * automatically when the popup is hidden and when the subclasses notify the element changes using {@link
+     * #itemsChanged(ListChangeListener.Change, int)}, {@link #elementsUpdated(int, int)} and the like. If the string of
+     * an element could change without such a notification, for example when a property shown in a TableView column is
+     * changed by code while the popup is visible, please call this method so the new string is searched.
+     */
+    protected void resetMatches() {
+        _matchesGeneration++;
+        _matches = null;
+        _matchesText = null;
+        _queryText = null;
+        _rankedMatches = null;
+        _rankedMatchesText = null;
+    }
+
+    /**
+     * Gets the indices of the best matching elements in the fuzzy search, ordered by the number of errors and then by
+     * the index. At most {@link #getFuzzyResultLimit()} elements are kept. They are reused until the searching text
+     * or the matching options change.
+     *
+     * @param str   the searching text, already converted to lower case if the search is case insensitive
+     * @param count the element count
+     * @return the indices of the best matching elements.
+     */
+    private IntList getRankedMatches(String str, int count) {
+        if (_rankedMatches != null && str.equals(_rankedMatchesText) && _rankedMatchesElementCount == count
+                && _rankedMatchesCaseSensitive == isCaseSensitive() && _rankedMatchesMaxErrors == getFuzzyMaxErrors()) {
+            return _rankedMatches;
+        }
+
+        FuzzyMatcher matcher = new FuzzyMatcher(str, getFuzzyMaxErrors());
+        TopKHeap heap = new TopKHeap(getFuzzyResultLimit());
+        if (_statistics != null) {
+            _visitedCount += count;
+        }
+        for (int i = 0; i < count; i++) {
+            String text = getNormalizedElementAtAsString(i);
+            if (text != null) {
+                int errors = matcher.getErrors(text);
+                if (errors != -1) {
+                    heap.offer(TopKHeap.pack(errors, i));
+                }
             }
-            catch (PatternSyntaxException e) {
-                return false;
+        }
+        long[] values = heap.toSortedArray();
+        IntList matches = new IntList(values.length);
+        for (long value : values) {
+            matches.add(TopKHeap.unpackIndex(value));
+        }
+
+        _rankedMatches = matches;
+        _rankedMatchesText = str;
+        _rankedMatchesElementCount = count;
+        _rankedMatchesCaseSensitive = isCaseSensitive();
+        _rankedMatchesMaxErrors = getFuzzyMaxErrors();
+        return matches;
+    }
+
+    /**
+     * Finds the next or the previous element of the current one in the ranked matches of the fuzzy search.
+     *
+     * @param str   the searching text, already converted to lower case if the search is case insensitive
+     * @param count the element count
+     * @param next  true to find the next element. False to find the previous element.
+     * @return the index of the element. -1 if not found.
+     */
+    private int findRankedMatch(String str, int count, boolean next) {
+        IntList matches = getRankedMatches(str, count);
+        if (matches.isEmpty())
+            return -1;
+
+        int selectedIndex = getCurrentIndex();
+        int position = -1;
+        for (int i = 0; i < matches.size(); i++) {
+            if (matches.get(i) == selectedIndex) {
+                position = i;
+                break;
             }
         }
+        if (position == -1)
+            return matches.get(0);
+
+        int found = next ? position + 1 : position - 1;
+        if (found >= 0 && found < matches.size())
+            return matches.get(found);
+
+        // if not found, start over from the other end
+        if (isRepeats())
+            return next ? matches.get(0) : matches.getLast();
+
+        return selectedIndex;
     }
 
 
@@ -488,22 +1072,38 @@ public abstract class Searchable<T> {
         int count = getElementCount();
         if (count == 0)
             return s.length() > 0 ? -1 : 0;
+        if (isFuzzySearchEnabled())
+            return findRankedMatch(str, count, true);
         int selectedIndex = getCurrentIndex();
-        for (int i = selectedIndex + 1; i < count; i++) {
-            T element = getElementAt(i);
-            if (compare(element, str))
-                return i;
-        }
-
-        if (isRepeats()) {
-            for (int i = 0; i < selectedIndex; i++) {
-                T element = getElementAt(i);
-                if (compare(element, str))
+        IntList matches = getQueryMatches(str, count);
+        if (matches == null) {
+            for (int i = selectedIndex + 1; i < count; i++) {
+                if (compareAt(i, str))
                     return i;
             }
+
+            if (isRepeats()) {
+                for (int i = 0; i < selectedIndex; i++) {
+                    if (compareAt(i, str))
+                        return i;
+                }
+            }
+
+            return selectedIndex == -1 ? -1 : (compareAt(selectedIndex, str) ? selectedIndex : -1);
         }
+        if (matches.isEmpty())
+            return -1;
+
+        int position = matches.binarySearch(selectedIndex);
+        int next = position >= 0 ? position + 1 : -position - 1;
+        if (next < matches.size())
+            return matches.get(next);
+
+        // if not found, start over from the beginning
+        if (isRepeats() && matches.get(0) < selectedIndex)
+            return matches.get(0);
 
-        return selectedIndex == -1 ? -1 : (compare(getElementAt(selectedIndex), str) ? selectedIndex : -1);
+        return position >= 0 ? selectedIndex : -1;
     }
 
     protected int getCurrentIndex() {
@@ -527,21 +1127,37 @@ public abstract class Searchable<T> {
         int count = getElementCount();
         if (count == 0)
             return s.length() > 0 ? -1 : 0;
+        if (isFuzzySearchEnabled())
+            return findRankedMatch(str, count, false);
         int selectedIndex = getCurrentIndex();
-        for (int i = selectedIndex - 1; i >= 0; i--) {
-            T element = getElementAt(i);
-            if (compare(element, str))
-                return i;
-        }
-
-        if (isRepeats()) {
-            for (int i = count - 1; i >= selectedIndex; i--) {
-                T element = getElementAt(i);
-                if (compare(element, str))
+        IntList matches = getQueryMatches(str, count);
+        if (matches == null) {
+            for (int i = selectedIndex - 1; i >= 0; i--) {
+                if (compareAt(i, str))
                     return i;
             }
+
+            if (isRepeats()) {
+                for (int i = count - 1; i >= selectedIndex; i--) {
+                    if (compareAt(i, str))
+                        return i;
+                }
+            }
+            return selectedIndex == -1 ? -1 : (compareAt(selectedIndex, str) ? selectedIndex : -1);
         }
-        return selectedIndex == -1 ? -1 : (compare(getElementAt(selectedIndex), str) ? selectedIndex : -1);
+        if (matches.isEmpty())
+            return -1;
+
+        int position = matches.binarySearch(selectedIndex);
+        int previous = (position >= 0 ? position : -position - 1) - 1;
+        if (previous >= 0)
+            return matches.get(previous);
+
+        // if not found, start over from the end
+        if (isRepeats() && matches.getLast() >= selectedIndex)
+            return matches.getLast();
+
+        return position >= 0 ? selectedIndex : -1;
     }
 
     /**
@@ -565,21 +1181,38 @@ public abstract class Searchable<T> {
         if (count == 0)
             return -1; // no match
 
-        // find from cursor
-        for (int i = selectedIndex; i < count; i++) {
-            T element = getElementAt(i);
-            if (compare(element, str))
-                return i;
+        if (isFuzzySearchEnabled()) {
+            IntList rankedMatches = getRankedMatches(str, count);
+            return rankedMatches.isEmpty() ? -1 : rankedMatches.get(0); // the best match
         }
 
-        // if not found, start over from the beginning
-        for (int i = 0; i < selectedIndex; i++) {
-            T element = getElementAt(i);
-            if (compare(element, str))
-                return i;
+        IntList matches = getQueryMatches(str, count);
+        if (matches == null) {
+            // find from cursor
+            for (int i = selectedIndex; i < count; i++) {
+                if (compareAt(i, str))
+                    return i;
+            }
+
+            // if not found, start over from the beginning
+            for (int i = 0; i < selectedIndex; i++) {
+                if (compareAt(i, str))
+                    return i;
+            }
+
+            return -1;
         }
+        if (matches.isEmpty())
+            return -1; // no match
 
-        return -1;
+        // find from cursor
+        int position = matches.binarySearch(selectedIndex);
+        int next = position >= 0 ? position : -position - 1;
+        if (next < matches.size())
+            return matches.get(next);
+
+        // if not found, start over from the beginning
+        return matches.get(0);
     }
 
     /**
@@ -601,21 +1234,38 @@ public abstract class Searchable<T> {
         if (count == 0)
             return -1; // no match
 
-        // find from cursor to beginning
-        for (int i = selectedIndex; i >= 0; i--) {
-            T element = getElementAt(i);
-            if (compare(element, str))
-                return i;
+        if (isFuzzySearchEnabled()) {
+            IntList rankedMatches = getRankedMatches(str, count);
+            return rankedMatches.isEmpty() ? -1 : rankedMatches.get(0); // the best match
         }
 
-        // if not found, start over from the end
-        for (int i = count - 1; i >= selectedIndex; i--) {
-            T element = getElementAt(i);
-            if (compare(element, str))
-                return i;
+        IntList matches = getQueryMatches(str, count);
+        if (matches == null) {
+            // find from cursor to beginning
+            for (int i = selectedIndex; i >= 0; i--) {
+                if (compareAt(i, str))
+                    return i;
+            }
+
+            // if not found, start over from the end
+            for (int i = count - 1; i >= selectedIndex; i--) {
+                if (compareAt(i, str))
+                    return i;
+            }
+
+            return -1;
         }
+        if (matches.isEmpty())
+            return -1; // no match
 
-        return -1;
+        // find from cursor to beginning
+        int position = matches.binarySearch(selectedIndex);
+        int previous = position >= 0 ? position : -position - 2;
+        if (previous >= 0)
+            return matches.get(previous);
+
+        // if not found, start over from the end
+        return matches.getLast();
     }
 
     /**
@@ -630,10 +1280,33 @@ public abstract class Searchable<T> {
         if (count == 0)
             return s.length() > 0 ? -1 : 0;
 
+        if (isFuzzySearchEnabled()) {
+            IntList rankedMatches = getRankedMatches(str, count);
+            return rankedMatches.isEmpty() ? -1 : rankedMatches.get(0);
+        }
+
+        IntList matches = getNarrowedMatches(str, count);
+        if (matches != null) {
+            return matches.isEmpty() ? -1 : (isReverseOrder() ? matches.getLast() : matches.get(0));
+        }
+
+        IntList candidates = getTrigramCandidates(str, count);
+        if (candidates != null) {
+            for (int i = 0; i < candidates.size(); i++) {
+                int index = candidates.get(isReverseOrder() ? candidates.size() - i - 1 : i);
+                if (index < count && compareAt(index, str))
+                    return index;
+            }
+            return -1;
+        }
+
+        if (isParallelSearch(count)) {
+            return findInParallel(str, count, isReverseOrder());
+        }
+
         for (int i = 0; i < count; i++) {
             int index = getIndex(count, i);
-            T element = getElementAt(index);
-            if (compare(element, str))
+            if (compareAt(index, str))
                 return index;
         }
 
@@ -651,9 +1324,33 @@ public abstract class Searchable<T> {
         int count = getElementCount();
         if (count == 0)
             return s.length() > 0 ? -1 : 0;
+
+        if (isFuzzySearchEnabled()) {
+            IntList rankedMatches = getRankedMatches(str, count);
+            return rankedMatches.isEmpty() ? -1 : rankedMatches.getLast();
+        }
+
+        IntList matches = getNarrowedMatches(str, count);
+        if (matches != null) {
+            return matches.isEmpty() ? -1 : matches.getLast();
+        }
+
+        IntList candidates = getTrigramCandidates(str, count);
+        if (candidates != null) {
+            for (int i = candidates.size() - 1; i >= 0; i--) {
+                int index = candidates.get(i);
+                if (index < count && compareAt(index, str))
+                    return index;
+            }
+            return -1;
+        }
+
+        if (isParallelSearch(count)) {
+            return findInParallel(str, count, true);
+        }
+
         for (int i = count - 1; i >= 0; i--) {
-            T element = getElementAt(i);
-            if (compare(element, str))
+            if (compareAt(i, str))
                 return i;
         }
         return -1;
@@ -795,173 +1492,451 @@ public abstract class Searchable<T> {
      * @param e the key event
      * @return true if the key in KeyEvent is a key to find the last occurrence. By default, end key is used.
      */
-    protected boolean isFindLastKey(KeyEvent e) {
-        return e.getCode() == KeyCode.END;
+    protected boolean isFindLastKey(KeyEvent e) {
+        return e.getCode() == KeyCode.END;
+    }
+
+    /**
+     * Checks if the key is used as a key to find the previous occurrence.
+     *
+     * @param e the key event
+     * @return true if the key in KeyEvent is a key to find the previous occurrence. By default, up arrow key is used.
+     */
+    protected boolean isFindPreviousKey(KeyEvent e) {
+        return e.getCode() == KeyCode.UP;
+    }
+
+    /**
+     * Checks if the key is used as a key to find the next occurrence.
+     *
+     * @param e the key event
+     * @return true if the key in KeyEvent is a key to find the next occurrence. By default, down arrow key is used.
+     */
+    protected boolean isFindNextKey(KeyEvent e) {
+        return e.getCode() == KeyCode.DOWN;
+    }
+
+    /**
+     * Checks if the key is used as a navigation key. Navigation keys are keys which are used to navigate to other
+     * occurrences of the searching string.
+     *
+     * @param e the key event
+     * @return true if the key in KeyEvent is a navigation key.
+     */
+    protected boolean isNavigationKey(KeyEvent e) {
+        return isFindFirstKey(e) || isFindLastKey(e) || isFindNextKey(e) || isFindPreviousKey(e);
+    }
+
+    /**
+     * Checks if the key in KeyEvent should activate the search popup.
+     *
+     * @param e the key event
+     * @return true if the KeyEvent is a KEY_PRESSED event and the key code is isLetterKey or isDigitKey.
+     */
+    protected boolean isActivateKey(KeyEvent e) {
+        return e.getEventType() == KeyEvent.KEY_PRESSED && (e.getCode().isLetterKey() || e.getCode().isDigitKey());
+    }
+
+    /**
+     * Checks if the key in KeyEvent should hide the search popup. If this method return true and the key is not used
+     * for navigation purpose ({@link #isNavigationKey(KeyEvent)} return false), the popup will be hidden.
+     *
+     * @param e the key event
+     * @return true if the keyCode in the KeyEvent is escape key, enter key, or any of the arrow keys such as page up,
+     *         page down, home, end, left, right, up and down.
+     */
+    protected boolean isDeactivateKey(KeyEvent e) {
+        KeyCode keyCode = e.getCode();
+        return keyCode == KeyCode.ENTER || keyCode == KeyCode.ESCAPE
+                || keyCode == KeyCode.PAGE_UP || keyCode == KeyCode.PAGE_DOWN
+                || keyCode == KeyCode.HOME || keyCode == KeyCode.END;
+    }
+
+    /**
+     * Checks if the key will trigger selecting all.
+     *
+     * @param e the key event
+     * @return true if the key in KeyEvent is a key to trigger selecting all.
+     */
+    protected boolean isSelectAllKey(KeyEvent e) {
+        return e.isShortcutDown() && e.getCode() == KeyCode.A; // Control+A on Win, Command+A on Mac.
+    }
+
+    /**
+     * Checks if the key will trigger incremental selection.
+     *
+     * @param e the key event
+     * @return true if the key in KeyEvent is a key to trigger incremental selection. By default, ctrl down key is
+     *         used.
+     */
+    protected boolean isIncrementalSelectKey(KeyEvent e) {
+        return e.isControlDown();
+    }
+
+    public BooleanProperty caeSensitiveProperty() {
+        if (_caseSensitiveProperty == null) {
+            _caseSensitiveProperty = new SimpleBooleanProperty(this, "caseSensitive") { //NON-NLS
+                @Override
+                protected void invalidated() {
+                    super.invalidated();
+                    resetMatches();
+                }
+            };
+        }
+        return _caseSensitiveProperty;
+    }
+
+    /**
+     * Checks if the case is sensitive during searching.
+     *
+     * @return true if the searching is case sensitive.
+     */
+    public boolean isCaseSensitive() {
+        return caeSensitiveProperty().get();
+    }
+
+    /**
+     * Sets the case sensitive flag. By default, it's false meaning it's a case insensitive search.
+     *
+     * @param caseSensitive the flag if searching is case sensitive
+     */
+    public void setCaseSensitive(boolean caseSensitive) {
+        caeSensitiveProperty().set(caseSensitive);
+    }
+
+    public ObjectProperty<Duration> searchingDelayProperty() {
+        if (_searchingDelayProperty == null) {
+            _searchingDelayProperty = new SimpleObjectProperty<>(Duration.millis(200));
+        }
+        return _searchingDelayProperty;
+    }
+
+    /**
+     * If it returns a positive number, it will wait for that many ms before doing the search. When the searching is
+     * complex, this flag will be useful to make the searching efficient. In the other words, if user types in several
+     * keys very quickly, there will be only one search. If it returns Duration.ZERO, the search runs in the next
+     * animation pulse so only the keys typed within the same pulse are combined.
+     *
+     * @return the delay before searching starts.
+     */
+    public Duration getSearchingDelay() {
+        return searchingDelayProperty().get();
+    }
+
+    /**
+     * If this flag is set to Duration, it will wait for that many ms before doing the search. When the searching is
+     * complex, this flag will be useful to make the searching efficient. In the other words, if user types in several
+     * keys very quickly, there will be only one search. If this flag is set to Duration.ZERO, the search runs in the next
+     * animation pulse.
+     * <p>
+     * When the delay passes, the search runs in the animation pulse unless {@link #isElementStringCacheEnabled()} is
+     * true and the estimated cost is above {@link #getBackgroundSearchThreshold()}. In that case the cached element
+     * strings are searched on a background thread. A search that is still waiting or running is dropped as soon as
+     * another key is typed.
+     *
+     * @param searchingDelay the delay before searching start.
+     */
+    public void setSearchingDelay(Duration searchingDelay) {
+        searchingDelayProperty().set(searchingDelay);
+    }
+
+
+    public BooleanProperty repeatsProperty() {
+        if (_repeatsProperty == null) {
+            _repeatsProperty = new SimpleBooleanProperty(true);
+        }
+        return _repeatsProperty;
+    }
+
+    /**
+     * Checks if restart from the beginning when searching reaches the end or restart from the end when reaches
+     * beginning. Default is false.
+     *
+     * @return true or false.
+     */
+    public boolean isRepeats() {
+        return repeatsProperty().get();
+    }
+
+    /**
+     * Sets the repeat flag. By default, it's false meaning it will stop searching when reaching the end or reaching the
+     * beginning.
+     *
+     * @param repeats the repeat flag
+     */
+    public void setRepeats(boolean repeats) {
+        repeatsProperty().set(repeats);
+    }
+
+    public BooleanProperty elementStringCacheEnabledProperty() {
+        if (_elementStringCacheEnabledProperty == null) {
+            _elementStringCacheEnabledProperty = new SimpleBooleanProperty(this, "elementStringCacheEnabled") { //NON-NLS
+                @Override
+                protected void invalidated() {
+                    super.invalidated();
+                    resetElementStringCache();
+                }
+            };
+        }
+        return _elementStringCacheEnabledProperty;
+    }
+
+    /**
+     * Checks if the element strings are cached. See {@link #setElementStringCacheEnabled(boolean)} for details.
+     *
+     * @return true if the element strings are cached.
+     */
+    public boolean isElementStringCacheEnabled() {
+        return elementStringCacheEnabledProperty().get();
     }
 
     /**
-     * Checks if the key is used as a key to find the previous occurrence.
+     * Enables or disables the cache of the element strings. By default, it is false so each search converts every
+     * element to string and lower case again. If true, the converted strings are kept in a cache and only the
+     * elements that are added or changed will be converted again. It is recommended for controls with a huge number of
+     * elements.
+     * <p>
+     * When the cache is enabled, {@link #compare(Object, String)} is not called. The cached string is passed to {@link
+     * #compareAsString(String, String)} directly. The cache is kept in sync by the ListChangeListener that the
+     * subclasses install on the items, so if your {@link #convertElementToString(Object)} depends on something else,
+     * please call {@link #resetElementStringCache()} when it changes.
      *
-     * @param e the key event
-     * @return true if the key in KeyEvent is a key to find the previous occurrence. By default, up arrow key is used.
+     * @param elementStringCacheEnabled true to enable the element string cache
      */
-    protected boolean isFindPreviousKey(KeyEvent e) {
-        return e.getCode() == KeyCode.UP;
+    public void setElementStringCacheEnabled(boolean elementStringCacheEnabled) {
+        elementStringCacheEnabledProperty().set(elementStringCacheEnabled);
+    }
+
+    public BooleanProperty parallelSearchEnabledProperty() {
+        if (_parallelSearchEnabledProperty == null) {
+            _parallelSearchEnabledProperty = new SimpleBooleanProperty(this, "parallelSearchEnabled"); //NON-NLS
+        }
+        return _parallelSearchEnabledProperty;
     }
 
     /**
-     * Checks if the key is used as a key to find the next occurrence.
+     * Checks if the elements are searched in parallel. See {@link #setParallelSearchEnabled(boolean)} for details.
      *
-     * @param e the key event
-     * @return true if the key in KeyEvent is a key to find the next occurrence. By default, down arrow key is used.
+     * @return true if the elements are searched in parallel.
      */
-    protected boolean isFindNextKey(KeyEvent e) {
-        return e.getCode() == KeyCode.DOWN;
+    public boolean isParallelSearchEnabled() {
+        return parallelSearchEnabledProperty().get();
     }
 
     /**
-     * Checks if the key is used as a navigation key. Navigation keys are keys which are used to navigate to other
-     * occurrences of the searching string.
+     * Enables or disables the parallel search. By default, it is false. If true and the control has at least {@link
+     * #getParallelSearchThreshold()} elements, findFirst, findLast and findAll take a snapshot of the element strings
+     * and split the scan across the common ForkJoinPool.
+     * <p>
+     * As the snapshot is taken on the JavaFX application thread, the parallel search works best together with {@link
+     * #setElementStringCacheEnabled(boolean)} so that the elements are not converted to string again in each search.
+     * Just like the element string cache, the parallel search matches the strings using the matcher returned from
+     * {@link #createMatcher(String)} without calling {@link #compare(Object, String)}. So it is not used if a subclass
+     * overrides {@link #compareAsString(String, String)}, or overrides compare while the element string cache is off.
      *
-     * @param e the key event
-     * @return true if the key in KeyEvent is a navigation key.
+     * @param parallelSearchEnabled true to enable the parallel search
      */
-    protected boolean isNavigationKey(KeyEvent e) {
-        return isFindFirstKey(e) || isFindLastKey(e) || isFindNextKey(e) || isFindPreviousKey(e);
+    public void setParallelSearchEnabled(boolean parallelSearchEnabled) {
+        parallelSearchEnabledProperty().set(parallelSearchEnabled);
     }
 
     /**
-     * Checks if the key in KeyEvent should activate the search popup.
+     * Gets the minimum number of elements to search in parallel when {@link #isParallelSearchEnabled()} is true. The
+     * overhead of splitting the scan outweighs the gain for smaller controls.
      *
-     * @param e the key event
-     * @return true if the KeyEvent is a KEY_PRESSED event and the key code is isLetterKey or isDigitKey.
+     * @return the minimum number of elements to search in parallel. Default is 50000.
      */
-    protected boolean isActivateKey(KeyEvent e) {
-        return e.getEventType() == KeyEvent.KEY_PRESSED && (e.getCode().isLetterKey() || e.getCode().isDigitKey());
+    protected int getParallelSearchThreshold() {
+        return 50000;
     }
 
     /**
-     * Checks if the key in KeyEvent should hide the search popup. If this method return true and the key is not used
-     * for navigation purpose ({@link #isNavigationKey(KeyEvent)} return false), the popup will be hidden.
-     *
-     * @param e the key event
-     * @return true if the keyCode in the KeyEvent is escape key, enter key, or any of the arrow keys such as page up,
-     *         page down, home, end, left, right, up and down.
+     * Checks if the elements are searched in parallel. Just like the background search, the parallel search only uses
+     * the matcher from {@link #createMatcher(String)}, so a subclass that overrides {@link #compareAsString(String,
+     * String)}, or {@link #compare(Object, String)} while the element string cache is off, is always searched one
+     * element after another.
      */
-    protected boolean isDeactivateKey(KeyEvent e) {
-        KeyCode keyCode = e.getCode();
-        return keyCode == KeyCode.ENTER || keyCode == KeyCode.ESCAPE
-                || keyCode == KeyCode.PAGE_UP || keyCode == KeyCode.PAGE_DOWN
-                || keyCode == KeyCode.HOME || keyCode == KeyCode.END;
+    private boolean isParallelSearch(int count) {
+        return isParallelSearchEnabled() && count >= getParallelSearchThreshold()
+                && !COMPARE_AS_STRING_OVERRIDDEN.get(getClass())
+                && (isElementStringCacheEnabled() || !COMPARE_OVERRIDDEN.get(getClass()));
+    }
+
+    public BooleanProperty trigramIndexEnabledProperty() {
+        if (_trigramIndexEnabledProperty == null) {
+            _trigramIndexEnabledProperty = new SimpleBooleanProperty(this, "trigramIndexEnabled") { //NON-NLS
+                @Override
+                protected void invalidated() {
+                    super.invalidated();
+                    _trigramIndex = null;
+                }
+            };
+        }
+        return _trigramIndexEnabledProperty;
     }
 
     /**
-     * Checks if the key will trigger selecting all.
+     * Checks if the trigram index is used to narrow down the elements to search. See {@link
+     * #setTrigramIndexEnabled(boolean)} for details.
      *
-     * @param e the key event
-     * @return true if the key in KeyEvent is a key to trigger selecting all.
+     * @return true if the trigram index is used.
      */
-    protected boolean isSelectAllKey(KeyEvent e) {
-        return e.isShortcutDown() && e.getCode() == KeyCode.A; // Control+A on Win, Command+A on Mac.
+    public boolean isTrigramIndexEnabled() {
+        return trigramIndexEnabledProperty().get();
     }
 
     /**
-     * Checks if the key will trigger incremental selection.
+     * Enables or disables the trigram index. By default, it is false. If true, an inverted index from every three
+     * consecutive characters to the elements containing them is built the first time a searching text of at least
+     * three characters is searched. Only the elements that contain all the trigrams of the searching text (or of the
+     * parts between the wildcards) are then checked, which makes searches in a control with a huge number of elements
+     * much faster, especially when {@link #isFromStart()} is false.
+     * <p>
+     * The index is kept in sync by the ListChangeListener that the subclasses install on the items. It takes quite some
+     * memory as every element string is indexed. It also assumes that an element can only match if its string contains
+     * the searching text, so please don't enable it if you override {@link #compare(Object, String)} or {@link
+     * #createMatcher(String)} to match differently.
      *
-     * @param e the key event
-     * @return true if the key in KeyEvent is a key to trigger incremental selection. By default, ctrl down key is
-     *         used.
+     * @param trigramIndexEnabled true to enable the trigram index
      */
-    protected boolean isIncrementalSelectKey(KeyEvent e) {
-        return e.isControlDown();
+    public void setTrigramIndexEnabled(boolean trigramIndexEnabled) {
+        trigramIndexEnabledProperty().set(trigramIndexEnabled);
     }
 
-    public BooleanProperty caeSensitiveProperty() {
-        if (_caseSensitiveProperty == null) {
-            _caseSensitiveProperty = new SimpleBooleanProperty();
+    public BooleanProperty fuzzySearchEnabledProperty() {
+        if (_fuzzySearchEnabledProperty == null) {
+            _fuzzySearchEnabledProperty = new SimpleBooleanProperty(this, "fuzzySearchEnabled") { //NON-NLS
+                @Override
+                protected void invalidated() {
+                    super.invalidated();
+                    _matcher = null;
+                    resetMatches();
+                }
+            };
         }
-        return _caseSensitiveProperty;
+        return _fuzzySearchEnabledProperty;
     }
 
     /**
-     * Checks if the case is sensitive during searching.
+     * Checks if the fuzzy search is enabled. See {@link #setFuzzySearchEnabled(boolean)} for details.
      *
-     * @return true if the searching is case sensitive.
+     * @return true if the fuzzy search is enabled.
      */
-    public boolean isCaseSensitive() {
-        return caeSensitiveProperty().get();
+    public boolean isFuzzySearchEnabled() {
+        return fuzzySearchEnabledProperty().get();
     }
 
     /**
-     * Sets the case sensitive flag. By default, it's false meaning it's a case insensitive search.
+     * Enables or disables the fuzzy search. By default, it is false. If true, an element matches if its string contains
+     * the searching text with at most {@link #getFuzzyMaxErrors()} errors, where an error is an extra, a missing or a
+     * different character. Every element is scored by the smallest number of errors and only the best {@link
+     * #getFuzzyResultLimit()} matches are kept. findFirst and findFromCursor go to the best match, and findNext and
+     * findPrevious walk the matches from the best to the worst instead of by the index.
+     * <p>
+     * The searching text is matched literally in the fuzzy search, so the wildcards and the from start option are
+     * ignored. The trigram index and the parallel search are not used either.
      *
-     * @param caseSensitive the flag if searching is case sensitive
+     * @param fuzzySearchEnabled true to enable the fuzzy search
      */
-    public void setCaseSensitive(boolean caseSensitive) {
-        caeSensitiveProperty().set(caseSensitive);
+    public void setFuzzySearchEnabled(boolean fuzzySearchEnabled) {
+        fuzzySearchEnabledProperty().set(fuzzySearchEnabled);
     }
 
-    public ObjectProperty<Duration> searchingDelayProperty() {
-        if (_searchingDelayProperty == null) {
-            _searchingDelayProperty = new SimpleObjectProperty<>(Duration.millis(200));
+    public IntegerProperty fuzzyMaxErrorsProperty() {
+        if (_fuzzyMaxErrorsProperty == null) {
+            _fuzzyMaxErrorsProperty = new SimpleIntegerProperty(this, "fuzzyMaxErrors", 1) { //NON-NLS
+                @Override
+                protected void invalidated() {
+                    super.invalidated();
+                    _matcher = null;
+                    resetMatches();
+                }
+            };
         }
-        return _searchingDelayProperty;
+        return _fuzzyMaxErrorsProperty;
     }
 
     /**
-     * If it returns a positive number, it will wait for that many ms before doing the search. When the searching is
-     * complex, this flag will be useful to make the searching efficient. In the other words, if user types in several
-     * keys very quickly, there will be only one search. If it returns Duration.ZERO, each key will generate a search.
+     * Gets the maximum number of errors allowed in the fuzzy search.
      *
-     * @return the delay before searching starts.
+     * @return the maximum number of errors. Default is 1.
      */
-    public Duration getSearchingDelay() {
-        return searchingDelayProperty().get();
+    public int getFuzzyMaxErrors() {
+        return fuzzyMaxErrorsProperty().get();
     }
 
     /**
-     * If this flag is set to Duration, it will wait for that many ms before doing the search. When the searching is
-     * complex, this flag will be useful to make the searching efficient. In the other words, if user types in several
-     * keys very quickly, there will be only one search. If this flag is set to Duration.ZERO, each key will generate a
-     * search with no delay.
+     * Sets the maximum number of errors allowed in the fuzzy search. It is limited to the length of the searching text
+     * minus one, so at least one character always has to match.
      *
-     * @param searchingDelay the delay before searching start.
+     * @param fuzzyMaxErrors the maximum number of errors
      */
-    public void setSearchingDelay(Duration searchingDelay) {
-        searchingDelayProperty().set(searchingDelay);
+    public void setFuzzyMaxErrors(int fuzzyMaxErrors) {
+        fuzzyMaxErrorsProperty().set(fuzzyMaxErrors);
     }
 
+    /**
+     * Gets the maximum number of the best matches kept in the fuzzy search.
+     *
+     * @return the maximum number of the matches. Default is 100.
+     */
+    protected int getFuzzyResultLimit() {
+        return 100;
+    }
 
-    public BooleanProperty repeatsProperty() {
-        if (_repeatsProperty == null) {
-            _repeatsProperty = new SimpleBooleanProperty(true);
+    public BooleanProperty statisticsEnabledProperty() {
+        if (_statisticsEnabledProperty == null) {
+            _statisticsEnabledProperty = new SimpleBooleanProperty(this, "statisticsEnabled") { //NON-NLS
+                @Override
+                protected void invalidated() {
+                    super.invalidated();
+                    _statistics = get() ? SearchableStatistics.getStatistics(Searchable.this.getClass()) : null;
+                }
+            };
         }
-        return _repeatsProperty;
+        return _statisticsEnabledProperty;
     }
 
     /**
-     * Checks if restart from the beginning when searching reaches the end or restart from the end when reaches
-     * beginning. Default is false.
+     * Checks if the statistics of the searches are collected. See {@link #setStatisticsEnabled(boolean)} for details.
      *
-     * @return true or false.
+     * @return true if the statistics are collected.
      */
-    public boolean isRepeats() {
-        return repeatsProperty().get();
+    public boolean isStatisticsEnabled() {
+        return statisticsEnabledProperty().get();
     }
 
     /**
-     * Sets the repeat flag. By default, it's false meaning it will stop searching when reaching the end or reaching the
-     * beginning.
+     * Enables or disables collecting the statistics of the searches. By default, it is false. If true, the wall time,
+     * the number of the visited elements, the string conversions, the matcher compilations and the results of each
+     * search are added to the {@link SearchableStatistics} of this Searchable class. When disabled, the cost is a null
+     * check in the search loops.
      *
-     * @param repeats the repeat flag
+     * @param statisticsEnabled true to collect the statistics
      */
-    public void setRepeats(boolean repeats) {
-        repeatsProperty().set(repeats);
+    public void setStatisticsEnabled(boolean statisticsEnabled) {
+        statisticsEnabledProperty().set(statisticsEnabled);
+    }
+
+    /**
+     * Gets the statistics of the searches done by all the Searchables of the same class as this one. Only the
+     * Searchables whose statisticsEnabled is true contribute to them.
+     *
+     * @return the statistics.
+     */
+    public SearchableStatistics getStatistics() {
+        return SearchableStatistics.getStatistics(getClass());
     }
 
     public BooleanProperty wildcardEnabledProperty() {
         if (_wildcardEnabledProperty == null) {
-            _wildcardEnabledProperty = new SimpleBooleanProperty();
+            _wildcardEnabledProperty = new SimpleBooleanProperty(this, "wildcardEnabled") { //NON-NLS
+                @Override
+                protected void invalidated() {
+                    super.invalidated();
+                    resetMatches();
+                }
+            };
         }
         return _wildcardEnabledProperty;
     }
@@ -1006,6 +1981,7 @@ public abstract class Searchable<T> {
      */
     public void setWildcardSupport(WildcardSupport wildcardSupport) {
         _wildcardSupport = wildcardSupport;
+        resetMatches();
     }
 
     public StringProperty searchingLabelProperty() {
@@ -1129,54 +2105,186 @@ public abstract class Searchable<T> {
     public StringProperty typedTextProperty() {
         if (_typedTextProperty == null) {
             _typedTextProperty = new SimpleStringProperty(this, "typedText", "") { //NON-NLS
-                private Timeline timer = new Timeline(new KeyFrame(getSearchingDelay(), new EventHandler<ActionEvent>() {
-                    @Override
-                    public void handle(ActionEvent event) {
-                        applyText();
-                    }
-                }));
-
                 @Override
                 protected void invalidated() {
                     super.invalidated();
+                    cancelFindAllAsync();
                     if (isPopupVisible()) {
                         updateText(get());
                         startHidePopupTimer();
-                        startDelayTimer();
-                    }
-                }
-
-                protected void applyText() {
-                    String text = getTypedText().trim();
-                    setSearchingText(text);
-                    if (text.length() != 0) {
-                        int found = findFromCursor(text);
-                        select(found, null);
-                    }
-                    else {
-                        hidePopup();
+                        scheduleSearch(getSearchingDelay());
                     }
                 }
+            };
+        }
+        return _typedTextProperty;
+    }
 
-                void startDelayTimer() {
-                    timer.setDelay(getSearchingDelay());
-                    if (!Duration.ZERO.equals(getSearchingDelay())) {
-                        if (timer.getStatus() == Animation.Status.RUNNING) {
-                            timer.stop();
-                            timer.play();
-                        }
-                        else {
-                            timer.setCycleCount(1);
-                            timer.play();
-                        }
-                    }
-                    else {
-                        applyText();
-                    }
+    /**
+     * Schedules the search of the typed text. The search that is still waiting or running in the background is
+     * dropped as its result is already outdated.
+     *
+     * @param delay the delay before searching
+     */
+    @SuppressWarnings("Convert2Lambda")
+    private void scheduleSearch(Duration delay) {
+        cancelSearchTask();
+        if (_searchScheduler == null) {
+            _searchScheduler = new SearchScheduler() {
+                @Override
+                protected void search(String text) {
+                    applyText(text);
                 }
             };
         }
-        return _typedTextProperty;
+        _searchScheduler.schedule(getTypedText(), delay);
+    }
+
+    private void cancelSearch() {
+        if (_searchScheduler != null) {
+            _searchScheduler.cancel();
+        }
+        cancelSearchTask();
+    }
+
+    private void cancelSearchTask() {
+        if (_searchTask != null) {
+            _searchTask.cancel();
+            _searchTask = null;
+        }
+    }
+
+    private void applyText(String typedText) {
+        String text = typedText.trim();
+        setSearchingText(text);
+        if (text.length() == 0) {
+            hidePopup();
+        }
+        else if (isBackgroundSearch(text)) {
+            startSearchTask(text);
+        }
+        else {
+            long start = startQuery();
+            int found = findFromCursor(text);
+            endQuery(start, found != -1 ? 1 : 0);
+            select(found, null);
+        }
+    }
+
+    /**
+     * Checks if the typed text should be searched on a background thread. The cost of the search is estimated as the
+     * number of elements to test multiplied by their average length. Only the searches that just compare the cached
+     * element strings can run in the background. The fuzzy search and the trigram index are always used in the
+     * animation pulse, and so is a subclass that overrides {@link #compareAsString(String, String)}, as the background
+     * task only uses the matcher from {@link #createMatcher(String)}.
+     *
+     * @param text the typed text
+     * @return true to search in the background.
+     */
+    private boolean isBackgroundSearch(String text) {
+        if (!isElementStringCacheEnabled() || isFuzzySearchEnabled() || isTrigramIndexEnabled()
+                || COMPARE_AS_STRING_OVERRIDDEN.get(getClass())) {
+            return false;
+        }
+        String str = isCaseSensitive() ? text : text.toLowerCase();
+        int count = getElementCount();
+        int candidates = isMatchesNarrowable(str, count) ? _matches.size() : count;
+        return (long) candidates * getAverageElementLength(count) >= getBackgroundSearchThreshold();
+    }
+
+    private static final ClassValue<Boolean> COMPARE_AS_STRING_OVERRIDDEN = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return isOverridden(type, "compareAsString", String.class, String.class); //NON-NLS
+        }
+    };
+
+    private static final ClassValue<Boolean> COMPARE_OVERRIDDEN = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return isOverridden(type, "compare", Object.class, String.class); //NON-NLS
+        }
+    };
+
+    /**
+     * Checks if a subclass of Searchable, up to the type itself, declares the method.
+     */
+    private static boolean isOverridden(Class<?> type, String name, Class<?>... parameterTypes) {
+        for (Class<?> c = type; c != null && c != Searchable.class; c = c.getSuperclass()) {
+            try {
+                c.getDeclaredMethod(name, parameterTypes);
+                return true;
+            }
+            catch (NoSuchMethodException e) {
+                // check the super class
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Estimates the average length of the element strings from a few elements spread across the control.
+     */
+    private int getAverageElementLength(int count) {
+        int samples = Math.min(count, 32);
+        long length = 0;
+        for (int i = 0; i < samples; i++) {
+            String text = getNormalizedElementAtAsString((int) ((long) i * count / samples));
+            if (text != null) {
+                length += text.length();
+            }
+        }
+        return samples == 0 ? 0 : (int) Math.max(1, length / samples);
+    }
+
+    /**
+     * Gets the estimated cost, which is the number of the elements to test multiplied by their average length, above
+     * which the typed text is searched on a background thread when {@link #isElementStringCacheEnabled()} is true.
+     * The cheaper searches run in the next animation pulse.
+     *
+     * @return the minimum estimated cost of the search to run in the background. Default is 1000000.
+     */
+    protected int getBackgroundSearchThreshold() {
+        return 1000000;
+    }
+
+    /**
+     * Searches the typed text on a background thread and selects the matching element once it is done. The task stops
+     * scanning as soon as another text is typed or the popup is hidden. If the elements or the matching options
+     * changed in the meantime, the result is dropped and the text is searched again in the next pulse.
+     *
+     * @param text the typed text
+     */
+    @SuppressWarnings("Convert2Lambda")
+    private void startSearchTask(final String text) {
+        final String str = isCaseSensitive() ? text : text.toLowerCase();
+        final int count = getElementCount();
+        final int generation = _matchesGeneration;
+        int[] candidates = isMatchesNarrowable(str, count) ? _matches.toArray() : null;
+        final long start = startQuery();
+        if (_statistics != null) {
+            _visitedCount += candidates != null ? candidates.length : count;
+        }
+        final FindAllTask task = new FindAllTask(getNormalizedElementStrings(), candidates, getMatcher(str), null);
+        task.setOnSucceeded(new EventHandler<WorkerStateEvent>() {
+            @Override
+            public void handle(WorkerStateEvent event) {
+                if (task != _searchTask) {
+                    return;
+                }
+                _searchTask = null;
+                if (generation != _matchesGeneration || count != getElementCount()) {
+                    scheduleSearch(Duration.ZERO);
+                    return;
+                }
+                setMatches(new IntList(task.getValue()), str, count);
+                int found = findFromCursor(text);
+                endQuery(start, found != -1 ? 1 : 0);
+                select(found, null);
+            }
+        });
+        _searchTask = task;
+        getExecutor().execute(task);
     }
 
     private String getTypedText() {
@@ -1249,7 +2357,9 @@ public abstract class Searchable<T> {
             String text = getTypedText();
             if (e.getEventType() == KeyEvent.KEY_PRESSED) {
                 if (isSelectAllKey(e)) {
+                    long start = startQuery();
                     int count = selectAll(e, text);
+                    endQuery(start, count);
                     updateText(text + " " + MessageFormat.format(getResourceString("Searchable.found"), count));
                     e.consume();
                     return;
@@ -1257,25 +2367,33 @@ public abstract class Searchable<T> {
 
                 int found;
                 if (isFindPreviousKey(e)) {
+                    long start = startQuery();
                     found = findPrevious(text);
+                    endQuery(start, found != -1 ? 1 : 0);
                     select(found, e);
                     e.consume();
                     return;
                 }
                 else if (isFindNextKey(e)) {
+                    long start = startQuery();
                     found = findNext(text);
+                    endQuery(start, found != -1 ? 1 : 0);
                     select(found, e);
                     e.consume();
                     return;
                 }
                 else if (isFindFirstKey(e)) {
+                    long start = startQuery();
                     found = findFirst(text);
+                    endQuery(start, found != -1 ? 1 : 0);
                     select(found, e);
                     e.consume();
                     return;
                 }
                 else if (isFindLastKey(e)) {
+                    long start = startQuery();
                     found = findLast(text);
+                    endQuery(start, found != -1 ? 1 : 0);
                     select(found, e);
                     e.consume();
                     return;
@@ -1390,6 +2508,7 @@ public abstract class Searchable<T> {
                 @Override
                 protected void invalidated() {
                     super.invalidated();
+                    resetMatches();
                     hidePopup();
                 }
             };
@@ -1495,21 +2614,150 @@ public abstract class Searchable<T> {
     }
 
     /**
-     * {@code findAll} uses the Searchable to find all the element indices that match the searching string.
+     * {@code findAll} uses the Searchable to find all the element indices that match the searching string. If {@link
+     * #isFuzzySearchEnabled()} is true, only the best matches are returned, ordered from the best to the worst.
      *
      * @param s the searching string.
      * @return the list of indices.
      */
     public java.util.List<Integer> findAll(String s) {
+        long start = startQuery();
+        String str = isCaseSensitive() ? s : s.toLowerCase();
+        IntList matches = isFuzzySearchEnabled() ? getRankedMatches(str, getElementCount()) : getMatches(str, getElementCount());
+        endQuery(start, matches.size());
+        return matches.toList();
+    }
+
+    /**
+     * Starts collecting the statistics of a search if {@link #isStatisticsEnabled()} is true.
+     *
+     * @return the start time of the search. 0 if the statistics are not collected.
+     */
+    private long startQuery() {
+        if (_statistics == null) {
+            return 0;
+        }
+        _visitedCount = 0;
+        _conversionCount = 0;
+        _compilationCount = 0;
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the statistics of the search started by {@link #startQuery()}.
+     *
+     * @param start   the start time returned from startQuery
+     * @param results the number of the matching elements found
+     */
+    private void endQuery(long start, int results) {
+        if (_statistics != null && start != 0) {
+            _statistics.record(System.nanoTime() - start, _visitedCount, _conversionCount, _compilationCount, results);
+        }
+    }
+
+    /**
+     * {@code findAllAsync} finds all the element indices that match the searching string on a background thread. The
+     * element strings are taken as a snapshot on the calling thread, which must be the JavaFX application thread, so
+     * the control can be changed while the search is running. The matching indices are passed to the batchHandler in
+     * ascending order as they are found. The value of the returned task contains all of them once the task succeeds.
+     * <p>
+     * Only one asynchronous search runs at a time for each Searchable. Calling this method again, typing a different
+     * searching text or hiding the popup cancels the previous search.
+     * <p>
+     * Please note, taking the snapshot still converts each element to string on the calling thread unless {@link
+     * #isElementStringCacheEnabled()} is true.
+     *
+     * @param s            the searching string.
+     * @param batchHandler the handler that receives the matching indices in batches on the JavaFX application thread.
+     *                     It could be null if you only need the value of the returned task.
+     * @return the task that runs the search.
+     */
+    public FindAllTask findAllAsync(String s, Consumer<int[]> batchHandler) {
+        cancelFindAllAsync();
         String str = isCaseSensitive() ? s : s.toLowerCase();
-        java.util.List<Integer> list = new ArrayList<>();
-        for (int i = 0, count = getElementCount(); i < count; i++) {
-            T element = getElementAt(i);
-            if (compare(element, str)) {
-                list.add(i);
+        _findAllTask = new FindAllTask(getNormalizedElementStrings(), createMatcher(str), batchHandler);
+        getExecutor().execute(_findAllTask);
+        return _findAllTask;
+    }
+
+    /**
+     * Cancels the search started by {@link #findAllAsync(String, Consumer)} if it is still running.
+     */
+    public void cancelFindAllAsync() {
+        if (_findAllTask != null) {
+            _findAllTask.cancel();
+            _findAllTask = null;
+        }
+    }
+
+    /**
+     * Takes a snapshot of all the element strings as they are compared with the searching text.
+     *
+     * @return the element strings.
+     * @see #getNormalizedElementAtAsString(int)
+     */
+    private String[] getNormalizedElementStrings() {
+        return getNormalizedElementStrings(0, getElementCount());
+    }
+
+    private String[] getNormalizedElementStrings(int from, int to) {
+        String[] texts = new String[to - from];
+        for (int i = 0; i < texts.length; i++) {
+            texts[i] = getNormalizedElementAtAsString(from + i);
+        }
+        return texts;
+    }
+
+    /**
+     * Finds the first or the last matching element in parallel. The element strings can only be read on the JavaFX
+     * thread, so they are copied chunk by chunk, starting from the end to search from, with the chunk size doubled each
+     * time. The search stops at the first chunk that has a match, so a match near the start costs about as much as
+     * the sequential search.
+     *
+     * @param str     the searching text, already converted to lower case if the search is case insensitive
+     * @param count   the element count
+     * @param reverse false to find the first matching element. True to find the last one.
+     * @return the index of the matching element. -1 if not found.
+     */
+    private int findInParallel(String str, int count, boolean reverse) {
+        Predicate<String> matcher = getMatcher(str);
+        int chunkSize = ParallelSearch.SEGMENT_SIZE;
+        for (int searched = 0; searched < count; searched += chunkSize, chunkSize *= 2) {
+            int size = Math.min(chunkSize, count - searched);
+            int from = reverse ? count - searched - size : searched;
+            if (_statistics != null) {
+                _visitedCount += size;
+            }
+            String[] texts = getNormalizedElementStrings(from, from + size);
+            int index = reverse ? ParallelSearch.findLast(texts, matcher) : ParallelSearch.findFirst(texts, matcher);
+            if (index != -1) {
+                return from + index;
             }
         }
-        return list;
+        return -1;
+    }
+
+    private static ExecutorService _executor;
+
+    /**
+     * Gets the executor that runs the searches on background threads. It is shared by all Searchables.
+     *
+     * @return the executor.
+     */
+    static synchronized ExecutorService getExecutor() {
+        if (_executor == null) {
+            _executor = Executors.newCachedThreadPool(new ThreadFactory() {
+                private final AtomicInteger _count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "Searchable-" + _count.incrementAndGet()); //NON-NLS
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return _executor;
     }
 
     /**
@@ -1519,6 +2767,9 @@ public abstract class Searchable<T> {
      * @return the element at the index converted to string.
      */
     public String getElementAtAsString(int index) {
+        if (_statistics != null) {
+            _conversionCount++;
+        }
         return convertElementToString(getElementAt(index));
     }
 }
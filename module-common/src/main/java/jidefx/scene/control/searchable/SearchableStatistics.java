@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2002-2015, JIDE Software Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jidefx.scene.control.searchable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code SearchableStatistics} collects the statistics of the searches done by the Searchables of the same class, such
+ * as how long the searches take, how many elements are visited and converted to string, how many times the searching
+ * text is compiled to a matcher and how many results are found. There is one SearchableStatistics for each Searchable
+ * class, so the numbers of a TableViewSearchable are not mixed with the numbers of a ListViewSearchable.
+ * <p>
+ * The statistics are only collected by the Searchables whose {@link Searchable#isStatisticsEnabled()} is true. The
+ * counters are updated once at the end of each search, so it is cheap enough to be left on in production. A search is
+ * a query typed in the search popup, a find next/previous/first/last key or a call to {@link
+ * Searchable#findAll(String)}.
+ * <pre>{@code
+ * searchable.setStatisticsEnabled(true);
+ * ...
+ * SearchableStatistics statistics = searchable.getStatistics();
+ * System.out.println(statistics.getAverageQueryTime() + "ns for " + statistics.getElementsVisited() / statistics.getQueryCount() + " elements");
+ * }</pre>
+ */
+public class SearchableStatistics {
+    private static final ConcurrentMap<Class<?>, SearchableStatistics> STATISTICS = new ConcurrentHashMap<>();
+
+    private final Class<?> _searchableClass;
+    private final LongAdder _queryCount = new LongAdder();
+    private final LongAdder _emptyQueryCount = new LongAdder();
+    private final LongAdder _totalQueryTime = new LongAdder();
+    private final AtomicLong _maxQueryTime = new AtomicLong();
+    private final LongAdder _elementsVisited = new LongAdder();
+    private final LongAdder _conversionCount = new LongAdder();
+    private final LongAdder _compilationCount = new LongAdder();
+    private final LongAdder _resultCount = new LongAdder();
+
+    /**
+     * Gets the statistics of the Searchable class.
+     *
+     * @param searchableClass the Searchable class
+     * @return the statistics of the Searchable class.
+     */
+    public static SearchableStatistics getStatistics(Class<?> searchableClass) {
+        SearchableStatistics statistics = STATISTICS.get(searchableClass);
+        if (statistics == null) {
+            statistics = new SearchableStatistics(searchableClass);
+            SearchableStatistics existing = STATISTICS.putIfAbsent(searchableClass, statistics);
+            if (existing != null) {
+                statistics = existing;
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * Gets the statistics of all the Searchable classes that have collected any.
+     *
+     * @return a map from the Searchable class to its statistics.
+     */
+    public static Map<Class<?>, SearchableStatistics> getAllStatistics() {
+        return new HashMap<>(STATISTICS);
+    }
+
+    private SearchableStatistics(Class<?> searchableClass) {
+        _searchableClass = searchableClass;
+    }
+
+    /**
+     * Records a search.
+     *
+     * @param queryTime       the wall time of the search in nanoseconds
+     * @param elementsVisited the number of the elements checked against the searching text
+     * @param conversions     the number of the elements converted to string
+     * @param compilations    the number of the matchers compiled from the searching text
+     * @param results         the number of the matching elements found
+     */
+    void record(long queryTime, long elementsVisited, long conversions, long compilations, int results) {
+        _queryCount.increment();
+        if (results == 0) {
+            _emptyQueryCount.increment();
+        }
+        _totalQueryTime.add(queryTime);
+        long max;
+        while (queryTime > (max = _maxQueryTime.get()) && !_maxQueryTime.compareAndSet(max, queryTime)) {
+            // retry
+        }
+        _elementsVisited.add(elementsVisited);
+        _conversionCount.add(conversions);
+        _compilationCount.add(compilations);
+        _resultCount.add(results);
+    }
+
+    /**
+     * Gets the Searchable class of the statistics.
+     *
+     * @return the Searchable class.
+     */
+    public Class<?> getSearchableClass() {
+        return _searchableClass;
+    }
+
+    /**
+     * Gets the number of the searches.
+     *
+     * @return the number of the searches.
+     */
+    public long getQueryCount() {
+        return _queryCount.sum();
+    }
+
+    /**
+     * Gets the number of the searches that found nothing.
+     *
+     * @return the number of the searches without any result.
+     */
+    public long getEmptyQueryCount() {
+        return _emptyQueryCount.sum();
+    }
+
+    /**
+     * Gets the total wall time of all the searches.
+     *
+     * @return the total time in nanoseconds.
+     */
+    public long getTotalQueryTime() {
+        return _totalQueryTime.sum();
+    }
+
+    /**
+     * Gets the average wall time of the searches.
+     *
+     * @return the average time in nanoseconds. 0 if there is no search yet.
+     */
+    public long getAverageQueryTime() {
+        long count = getQueryCount();
+        return count == 0 ? 0 : getTotalQueryTime() / count;
+    }
+
+    /**
+     * Gets the wall time of the slowest search.
+     *
+     * @return the maximum time in nanoseconds.
+     */
+    public long getMaxQueryTime() {
+        return _maxQueryTime.get();
+    }
+
+    /**
+     * Gets the total number of the elements checked against the searching text.
+     *
+     * @return the number of the visited elements.
+     */
+    public long getElementsVisited() {
+        return _elementsVisited.sum();
+    }
+
+    /**
+     * Gets the total number of the elements converted to string using {@link Searchable#convertElementToString(Object)}.
+     * It is much smaller than {@link #getElementsVisited()} if the element string cache works well.
+     *
+     * @return the number of the conversions.
+     */
+    public long getConversionCount() {
+        return _conversionCount.sum();
+    }
+
+    /**
+     * Gets the total number of the matchers compiled from the searching texts.
+     *
+     * @return the number of the compilations.
+     */
+    public long getCompilationCount() {
+        return _compilationCount.sum();
+    }
+
+    /**
+     * Gets the total number of the matching elements found by the searches.
+     *
+     * @return the number of the results.
+     */
+    public long getResultCount() {
+        return _resultCount.sum();
+    }
+
+    /**
+     * Resets all the statistics to zero.
+     */
+    public void reset() {
+        _queryCount.reset();
+        _emptyQueryCount.reset();
+        _totalQueryTime.reset();
+        _maxQueryTime.set(0);
+        _elementsVisited.reset();
+        _conversionCount.reset();
+        _compilationCount.reset();
+        _resultCount.reset();
+    }
+
+    @Override
+    public String toString() {
+        return _searchableClass.getSimpleName() + "[queries=" + getQueryCount() + ", empty=" + getEmptyQueryCount() //NON-NLS
+                + ", averageTime=" + getAverageQueryTime() + "ns, maxTime=" + getMaxQueryTime() + "ns, visited=" + getElementsVisited() //NON-NLS
+                + ", conversions=" + getConversionCount() + ", compilations=" + getCompilationCount() + ", results=" + getResultCount() + "]"; //NON-NLS
+    }
+}
@@ -74,6 +74,11 @@ public class TableViewSearchable<T> extends Searchable<Object> {
     private int[] _searchColumnIndices = {0};
     private ListChangeListener<T> _listChangeListener;
     private ChangeListener<ObservableList<T>> _itemsChangeListener;
+    private ListChangeListener<TableColumn<T, ?>> _columnsChangeListener;
+    private ChangeListener<TablePosition<T, ?>> _editingCellListener;
+
+    private transient ElementStringCache[] _columnStrings;
+    private transient boolean _columnStringsCaseSensitive;
 
     public TableViewSearchable(TableView<T> tableView) {
         super(tableView);
@@ -87,20 +92,53 @@ public class TableViewSearchable<T> extends Searchable<Object> {
                 _listChangeListener = new ListChangeListener<T>() {
                     @Override
                     public void onChanged(Change<? extends T> c) {
+                        itemsChanged(c, getElementsPerItem());
+                        c.reset();
+                        rowsChanged(c);
                         hidePopup();
                     }
                 };
             }
-            ((TableView<T>) _node).getItems().addListener(_listChangeListener);
+            if (((TableView<T>) _node).getItems() != null) {
+                ((TableView<T>) _node).getItems().addListener(_listChangeListener);
+            }
             if (_itemsChangeListener == null) {
                 _itemsChangeListener = new ChangeListener<ObservableList<T>>() {
                     @Override
                     public void changed(ObservableValue<? extends ObservableList<T>> observable, ObservableList<T> oldValue, ObservableList<T> newValue) {
+                        if (oldValue != null) {
+                            oldValue.removeListener(_listChangeListener);
+                        }
+                        if (newValue != null) {
+                            newValue.addListener(_listChangeListener);
+                        }
+                        resetElementStringCache();
                         hidePopup();
                     }
                 };
             }
             ((TableView<T>) _node).itemsProperty().addListener(_itemsChangeListener);
+            if (_columnsChangeListener == null) {
+                _columnsChangeListener = new ListChangeListener<TableColumn<T, ?>>() {
+                    @Override
+                    public void onChanged(Change<? extends TableColumn<T, ?>> c) {
+                        resetElementStringCache();
+                        hidePopup();
+                    }
+                };
+            }
+            ((TableView<T>) _node).getColumns().addListener(_columnsChangeListener);
+            if (_editingCellListener == null) {
+                _editingCellListener = new ChangeListener<TablePosition<T, ?>>() {
+                    @Override
+                    public void changed(ObservableValue<? extends TablePosition<T, ?>> observable, TablePosition<T, ?> oldValue, TablePosition<T, ?> newValue) {
+                        if (oldValue != null) {
+                            rowEdited(oldValue.getRow());
+                        }
+                    }
+                };
+            }
+            ((TableView<T>) _node).editingCellProperty().addListener(_editingCellListener);
         }
     }
 
@@ -108,13 +146,23 @@ public class TableViewSearchable<T> extends Searchable<Object> {
     public void uninstallListeners() {
         if (_node instanceof TableView) {
             if (_listChangeListener != null) {
-                ((TableView<T>) _node).getItems().removeListener(_listChangeListener);
+                if (((TableView<T>) _node).getItems() != null) {
+                    ((TableView<T>) _node).getItems().removeListener(_listChangeListener);
+                }
                 _listChangeListener = null;
             }
             if (_itemsChangeListener != null) {
                 ((TableView<T>) _node).itemsProperty().removeListener(_itemsChangeListener);
                 _itemsChangeListener = null;
             }
+            if (_columnsChangeListener != null) {
+                ((TableView<T>) _node).getColumns().removeListener(_columnsChangeListener);
+                _columnsChangeListener = null;
+            }
+            if (_editingCellListener != null) {
+                ((TableView<T>) _node).editingCellProperty().removeListener(_editingCellListener);
+                _editingCellListener = null;
+            }
         }
         super.uninstallListeners();
     }
@@ -281,6 +329,153 @@ public class TableViewSearchable<T> extends Searchable<Object> {
         }
     }
 
+    /**
+     * Gets the number of the elements for each row in the table. It is 1 in the row selection mode or the column count
+     * when the cells are searched. It returns 0 in the column selection mode as each element is a column.
+     *
+     * @return the number of the elements for each row.
+     */
+    private int getElementsPerItem() {
+        TableView<T> table = ((TableView<T>) _node);
+        if (isColumnSelectionAllowed(table)) {
+            return 0;
+        }
+        else if (isRowSelectionAllowed(table)) {
+            return 1;
+        }
+        else { // cell selection allowed
+            return table.getColumns().size();
+        }
+    }
+
+    /**
+     * Gets the element at the specified index as the string that is compared with the searching text. If {@link
+     * #isElementStringCacheEnabled()} is true, the strings are cached in one array per searched column, indexed by the
+     * row index, so only the cells in the searched columns are ever converted and each of them is converted only once
+     * until the row changes.
+     *
+     * @param index the index.
+     * @return the element at the index converted to string.
+     */
+    @Override
+    protected String getNormalizedElementAtAsString(int index) {
+        TableView<T> table = (TableView<T>) _node;
+        if (!isElementStringCacheEnabled() || isColumnSelectionAllowed(table)) {
+            return super.getNormalizedElementAtAsString(index);
+        }
+
+        int rowIndex, columnIndex;
+        if (isRowSelectionAllowed(table)) {
+            rowIndex = index;
+            columnIndex = getMainIndex();
+        }
+        else {
+            int columnCount = table.getColumns().size();
+            rowIndex = index / columnCount;
+            columnIndex = index % columnCount;
+        }
+        int rowCount = table.getItems() != null ? table.getItems().size() : 0;
+        if (rowIndex < 0 || rowIndex >= rowCount || columnIndex < 0 || columnIndex >= table.getColumns().size()
+                || !isSearchColumn(columnIndex)) {
+            return normalize(getElementAtAsString(index));
+        }
+
+        if (_columnStrings == null || _columnStrings.length != table.getColumns().size() || _columnStringsCaseSensitive != isCaseSensitive()) {
+            _columnStrings = new ElementStringCache[table.getColumns().size()];
+            _columnStringsCaseSensitive = isCaseSensitive();
+        }
+        ElementStringCache strings = _columnStrings[columnIndex];
+        if (strings == null || strings.size() != rowCount) {
+            strings = new ElementStringCache(rowCount);
+            _columnStrings[columnIndex] = strings;
+        }
+        String text = strings.get(rowIndex);
+        if (text == null) {
+            text = normalize(getElementAtAsString(index));
+            strings.set(rowIndex, text);
+        }
+        return text;
+    }
+
+    /**
+     * Checks if the cells in the column are searched.
+     *
+     * @param columnIndex the column index
+     * @return true if the column is searched.
+     */
+    private boolean isSearchColumn(int columnIndex) {
+        if (!isSearchSelectedRows()) {
+            return true;
+        }
+        for (int i : getSearchColumnIndices()) {
+            if (i == columnIndex) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Updates the cached strings of the searched columns based on the change of the rows.
+     *
+     * @param change the change of the items in the table
+     */
+    private void rowsChanged(ListChangeListener.Change<? extends T> change) {
+        if (_columnStrings == null) {
+            return;
+        }
+        while (change.next()) {
+            for (ElementStringCache strings : _columnStrings) {
+                if (strings == null) {
+                    continue;
+                }
+                if (change.wasPermutated() || change.wasUpdated()) {
+                    strings.invalidate(change.getFrom(), change.getTo());
+                }
+                else {
+                    if (change.wasRemoved()) {
+                        strings.remove(change.getFrom(), change.getRemovedSize());
+                    }
+                    if (change.wasAdded()) {
+                        strings.insert(change.getFrom(), change.getAddedSize());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates the cached strings of the row after a cell in it was edited. Committing an edit usually sets the
+     * property of the row item instead of replacing the item, so there is no change of the items to tell.
+     *
+     * @param row the index of the edited row
+     */
+    private void rowEdited(int row) {
+        if (row < 0) {
+            return;
+        }
+        if (_columnStrings != null) {
+            for (ElementStringCache strings : _columnStrings) {
+                if (strings != null) {
+                    strings.invalidate(row, row + 1);
+                }
+            }
+        }
+        int elementsPerItem = getElementsPerItem();
+        if (elementsPerItem <= 0) {
+            resetElementStringCache();
+        }
+        else {
+            elementsUpdated(row * elementsPerItem, (row + 1) * elementsPerItem);
+        }
+    }
+
+    @Override
+    protected void resetElementStringCache() {
+        super.resetElementStringCache();
+        _columnStrings = null;
+    }
+
     @Override
     protected int getElementCount() {
         TableView<T> table = ((TableView<T>) _node);
@@ -344,6 +539,7 @@ public class TableViewSearchable<T> extends Searchable<Object> {
         int[] old = _searchColumnIndices;
         if (!CommonUtils.equals(old, columnIndices, true)) {
             _searchColumnIndices = columnIndices;
+            resetElementStringCache();
             hidePopup();
         }
     }
@@ -361,6 +557,7 @@ public class TableViewSearchable<T> extends Searchable<Object> {
         int[] old = _searchColumnIndices;
         if (old != temp) {
             _searchColumnIndices = temp;
+            resetElementStringCache();
             hidePopup();
         }
     }
@@ -57,11 +57,21 @@ import javafx.scene.input.KeyEvent;
  * <p>
  * Due to the special case of TextInputControl, the searching doesn't support wild card '*' or '?' as in other
  * Searchables.
+ * <p>
+ * The text is searched by a {@link TextSearchEngine}. You can call {@link #setTextSearchEngine(TextSearchEngine)} to
+ * replace the default {@link HorspoolTextSearchEngine}.
  */
 @SuppressWarnings({"Convert2Lambda", "unchecked"})
 public class TextInputControlSearchable extends Searchable<String> {
     private int _selectedIndex = -1;
     private ChangeListener<String> _textChangeListener;
+    private TextSearchEngine _textSearchEngine;
+
+    // the starts of all the occurrences of the last pattern passed to findAllRanges, kept up to date as the text changes
+    private IntList _rangeStarts;
+    private int[] _ranges;
+    private String _rangesPattern;
+    private boolean _rangesCaseSensitive;
 
     public TextInputControlSearchable(TextInputControl textInputControl) {
         super(textInputControl);
@@ -74,6 +84,8 @@ public class TextInputControlSearchable extends Searchable<String> {
             _textChangeListener = new ChangeListener<String>() {
                 @Override
                 public void changed(ObservableValue<? extends String> observable, String oldValue, String newValue) {
+                    getTextSearchEngine().setText(newValue);
+                    updateRanges(oldValue, newValue);
                     hidePopup();
                 }
             };
@@ -207,145 +219,58 @@ public class TextInputControlSearchable extends Searchable<String> {
     @Override
     public int findLast(String s) {
         if (_node instanceof TextInputControl) {
-            String text = getDocumentText();
-            if (isCaseSensitive()) {
-                return text.lastIndexOf(s);
-            }
-            else {
-                return lastIndexOf(text, s, text.length());
-            }
+            TextSearchEngine engine = getDocumentSearchEngine();
+            return engine.lastIndexOf(s, getElementCount(), isCaseSensitive());
         }
         else {
             return super.findLast(s);
         }
     }
 
-    private transient String _text = null;
-
     /**
-     * Gets the text from Document.
+     * Gets the TextSearchEngine that finds the searching text in the text of the TextInputControl. If user never sets
+     * it, {@link HorspoolTextSearchEngine} will be used.
      *
-     * @return the text of this TextInputControl. It used Document to get the text.
+     * @return the TextSearchEngine.
      */
-    private String getDocumentText() {
-        if (_text == null && _node instanceof TextInputControl) {
-            _text = ((TextInputControl) _node).getText();
+    public TextSearchEngine getTextSearchEngine() {
+        if (_textSearchEngine == null) {
+            _textSearchEngine = new HorspoolTextSearchEngine();
         }
-        return _text;
+        return _textSearchEngine;
+    }
+
+    /**
+     * Sets the TextSearchEngine that finds the searching text in the text of the TextInputControl.
+     *
+     * @param textSearchEngine the new TextSearchEngine.
+     */
+    public void setTextSearchEngine(TextSearchEngine textSearchEngine) {
+        _textSearchEngine = textSearchEngine;
+    }
+
+    /**
+     * Gets the TextSearchEngine with the current text of the TextInputControl.
+     *
+     * @return the TextSearchEngine.
+     */
+    private TextSearchEngine getDocumentSearchEngine() {
+        TextSearchEngine engine = getTextSearchEngine();
+        engine.setText(((TextInputControl) _node).getText());
+        return engine;
     }
 
     @Override
     public int findFirst(String s) {
         if (_node instanceof TextInputControl) {
-            String text = getDocumentText();
-            if (isCaseSensitive()) {
-                return text.indexOf(s);
-            }
-            else {
-                return indexOf(text, s, 0);
-            }
+            TextSearchEngine engine = getDocumentSearchEngine();
+            return engine.indexOf(s, 0, isCaseSensitive());
         }
         else {
             return super.findFirst(s);
         }
     }
 
-    static int lastIndexOf(String source, String target, int fromIndex) {
-        int sourceCount = source.length();
-        int targetCount = target.length();
-        int rightIndex = sourceCount - targetCount;
-        if (fromIndex < 0) {
-            return -1;
-        }
-        if (fromIndex > rightIndex) {
-            fromIndex = rightIndex;
-        }
-        /* Empty string always matches. */
-        if (targetCount == 0) {
-            return fromIndex;
-        }
-        char[] lowerTarget = target.toLowerCase().toCharArray();
-        char[] upperTarget = target.toUpperCase().toCharArray();
-
-        int strLastIndex = targetCount - 1;
-        int min = targetCount - 1;
-        int i = min + fromIndex;
-
-        while (i >= min) {
-            while (i >= min && source.charAt(i) != lowerTarget[strLastIndex] && source.charAt(i) != upperTarget[strLastIndex]) {
-                i--;
-            }
-            if (i < min) {
-                break;
-            }
-            int j = i - 1;
-            int start = j - (targetCount - 1);
-            int k = strLastIndex - 1;
-
-            while (j > start) {
-                char ch = source.charAt(j);
-                if (ch != lowerTarget[k] && ch != upperTarget[k]) {
-                    i--;
-                    break;
-                }
-                j--;
-                k--;
-            }
-            if (j <= start) {
-                return start + 1;
-            }
-        }
-        return -1;
-    }
-
-    private static int indexOf(String source, String target, int fromIndex) {
-        int sourceCount = source.length();
-        int targetCount = target.length();
-        if (fromIndex >= sourceCount) {
-            return (targetCount == 0 ? sourceCount : -1);
-        }
-        if (fromIndex < 0) {
-            fromIndex = 0;
-        }
-        if (targetCount == 0) {
-            return fromIndex;
-        }
-        char[] lowerTarget = target.toLowerCase().toCharArray();
-        char[] upperTarget = target.toUpperCase().toCharArray();
-
-        int max = sourceCount - targetCount;
-
-        for (int i = fromIndex; i <= max; i++) {
-            /* Look for first character. */
-            char c = source.charAt(i);
-            if (c != lowerTarget[0] && c != upperTarget[0]) {
-                i++;
-                while (i <= max && source.charAt(i) != lowerTarget[0] && source.charAt(i) != upperTarget[0]) {
-                    i++;
-                }
-            }
-
-            /* Found first character, now look at the rest of v2 */
-            if (i <= max) {
-                int j = i + 1;
-                int end = j + targetCount - 1;
-                for (int k = 1; j < end; j++) {
-                    char ch = source.charAt(j);
-                    if (ch != lowerTarget[k] && ch != upperTarget[k]) {
-                        break;
-                    }
-                    k++;
-                }
-
-                if (j == end) {
-                    /* Found whole string. */
-                    return i;
-                }
-            }
-        }
-        return -1;
-    }
-
     @Override
     public int findFromCursor(String s) {
         if (isReverseOrder()) {
@@ -353,7 +278,7 @@ public class TextInputControlSearchable extends Searchable<String> {
         }
 
         if (_node instanceof TextInputControl) {
-            String text = getDocumentText();
+            TextSearchEngine engine = getDocumentSearchEngine();
             int selectedIndex = (getCursor() != -1 ? getCursor() : getSelectedIndex());
             if (selectedIndex < 0)
                 selectedIndex = 0;
@@ -362,11 +287,11 @@ public class TextInputControlSearchable extends Searchable<String> {
                 return s.length() > 0 ? -1 : 0;
 
             // find from cursor
-            int found = isCaseSensitive() ? text.indexOf(s, selectedIndex) : indexOf(text, s, selectedIndex);
+            int found = engine.indexOf(s, selectedIndex, isCaseSensitive());
 
             // if not found, start over from the beginning
             if (found == -1) {
-                found = isCaseSensitive() ? text.indexOf(s, 0) : indexOf(text, s, 0);
+                found = engine.indexOf(s, 0, isCaseSensitive());
                 if (found >= selectedIndex) {
                     found = -1;
                 }
@@ -386,7 +311,7 @@ public class TextInputControlSearchable extends Searchable<String> {
         }
 
         if (_node instanceof TextInputControl) {
-            String text = getDocumentText();
+            TextSearchEngine engine = getDocumentSearchEngine();
             int selectedIndex = (getCursor() != -1 ? getCursor() : getSelectedIndex());
             if (selectedIndex < 0)
                 selectedIndex = 0;
@@ -395,11 +320,11 @@ public class TextInputControlSearchable extends Searchable<String> {
                 return s.length() > 0 ? -1 : 0;
 
             // find from cursor
-            int found = isCaseSensitive() ? text.lastIndexOf(s, selectedIndex) : lastIndexOf(text, s, selectedIndex);
+            int found = engine.lastIndexOf(s, selectedIndex, isCaseSensitive());
 
             // if not found, start over from the end
             if (found == -1) {
-                found = isCaseSensitive() ? text.lastIndexOf(s, text.length() - 1) : lastIndexOf(text, s, text.length() - 1);
+                found = engine.lastIndexOf(s, count - 1, isCaseSensitive());
                 if (found <= selectedIndex) {
                     found = -1;
                 }
@@ -415,7 +340,7 @@ public class TextInputControlSearchable extends Searchable<String> {
     @Override
     public int findNext(String s) {
         if (_node instanceof TextInputControl) {
-            String text = getDocumentText();
+            TextSearchEngine engine = getDocumentSearchEngine();
             int selectedIndex = (getCursor() != -1 ? getCursor() : getSelectedIndex());
             if (selectedIndex < 0)
                 selectedIndex = 0;
@@ -424,11 +349,11 @@ public class TextInputControlSearchable extends Searchable<String> {
                 return s.length() > 0 ? -1 : 0;
 
             // find from cursor
-            int found = isCaseSensitive() ? text.indexOf(s, selectedIndex + 1) : indexOf(text, s, selectedIndex + 1);
+            int found = engine.indexOf(s, selectedIndex + 1, isCaseSensitive());
 
             // if not found, start over from the beginning
             if (found == -1 && isRepeats()) {
-                found = isCaseSensitive() ? text.indexOf(s, 0) : indexOf(text, s, 0);
+                found = engine.indexOf(s, 0, isCaseSensitive());
                 if (found > selectedIndex) {
                     found = -1;
                 }
@@ -444,7 +369,7 @@ public class TextInputControlSearchable extends Searchable<String> {
     @Override
     public int findPrevious(String s) {
         if (_node instanceof TextInputControl) {
-            String text = getDocumentText();
+            TextSearchEngine engine = getDocumentSearchEngine();
             int selectedIndex = (getCursor() != -1 ? getCursor() : getSelectedIndex());
             if (selectedIndex < 0)
                 selectedIndex = 0;
@@ -453,11 +378,11 @@ public class TextInputControlSearchable extends Searchable<String> {
                 return s.length() > 0 ? -1 : 0;
 
             // find from cursor
-            int found = isCaseSensitive() ? text.lastIndexOf(s, selectedIndex - 1) : lastIndexOf(text, s, selectedIndex - 1);
+            int found = engine.lastIndexOf(s, selectedIndex - 1, isCaseSensitive());
 
             // if not found, start over from the beginning
             if (found == -1 && isRepeats()) {
-                found = isCaseSensitive() ? text.lastIndexOf(s, count - 1) : lastIndexOf(text, s, count - 1);
+                found = engine.lastIndexOf(s, count - 1, isCaseSensitive());
                 if (found < selectedIndex) {
                     found = -1;
                 }
@@ -470,6 +395,116 @@ public class TextInputControlSearchable extends Searchable<String> {
         }
     }
 
+    /**
+     * Finds all the occurrences of the searching text in the text of the TextInputControl, including the overlapping
+     * ones. The indices are in ascending order.
+     *
+     * @param s the searching string.
+     * @return the list of indices.
+     */
+    @Override
+    public java.util.List<Integer> findAll(String s) {
+        if (_node instanceof TextInputControl) {
+            int[] ranges = findAllRanges(s);
+            java.util.List<Integer> list = new java.util.ArrayList<>(ranges.length / 2);
+            for (int i = 0; i < ranges.length; i += 2) {
+                list.add(ranges[i]);
+            }
+            return list;
+        }
+        else {
+            return super.findAll(s);
+        }
+    }
+
+    /**
+     * Finds all the occurrences of the searching text in the text of the TextInputControl, including the overlapping
+     * ones. They are returned as pairs of the start index (inclusive) and the end index (exclusive) packed into one
+     * array, i.e. {@code {start0, end0, start1, end1, ...}} in ascending order, which is convenient to paint the
+     * highlights of all the matches.
+     * <p>
+     * The occurrences of the last searching text are kept. When the text changes, only the changed part of the text,
+     * extended by the length of the searching text on the left, is searched again. The occurrences before and after it
+     * are moved instead. So calling this method again with the same searching text after a small edit or just to
+     * repaint is cheap. The returned array is shared, please don't modify it.
+     *
+     * @param s the searching string. Nothing is found if it is empty.
+     * @return the start and end index pairs of the occurrences.
+     */
+    public int[] findAllRanges(String s) {
+        if (!(_node instanceof TextInputControl) || s == null || s.isEmpty()) {
+            return new int[0];
+        }
+        if (_rangeStarts == null || !s.equals(_rangesPattern) || _rangesCaseSensitive != isCaseSensitive()) {
+            TextSearchEngine engine = getDocumentSearchEngine();
+            _rangeStarts = new IntList(engine.indicesOf(s, 0, getElementCount(), isCaseSensitive()));
+            _rangesPattern = s;
+            _rangesCaseSensitive = isCaseSensitive();
+            _ranges = null;
+        }
+        if (_ranges == null) {
+            int length = _rangesPattern.length();
+            int[] ranges = new int[_rangeStarts.size() * 2];
+            for (int i = 0; i < _rangeStarts.size(); i++) {
+                ranges[i * 2] = _rangeStarts.get(i);
+                ranges[i * 2 + 1] = _rangeStarts.get(i) + length;
+            }
+            _ranges = ranges;
+        }
+        return _ranges;
+    }
+
+    /**
+     * Updates the occurrences found by {@link #findAllRanges(String)} after the text changed. The occurrences that are
+     * entirely in the common prefix or the common suffix of the old and the new text are kept, the others are found
+     * again.
+     */
+    private void updateRanges(String oldText, String newText) {
+        if (_rangeStarts == null) {
+            return;
+        }
+        if (oldText == null || newText == null) {
+            _rangeStarts = null;
+            _ranges = null;
+            return;
+        }
+
+        int oldLength = oldText.length();
+        int newLength = newText.length();
+        int max = Math.min(oldLength, newLength);
+        int prefix = 0;
+        while (prefix < max && oldText.charAt(prefix) == newText.charAt(prefix)) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < max - prefix && oldText.charAt(oldLength - 1 - suffix) == newText.charAt(newLength - 1 - suffix)) {
+            suffix++;
+        }
+        if (prefix == oldLength && prefix == newLength) {
+            return; // same text
+        }
+
+        // the occurrences starting in [from, oldLength - suffix) overlap the changed part
+        int from = Math.max(0, prefix - _rangesPattern.length() + 1);
+        int delta = newLength - oldLength;
+        int[] found = getDocumentSearchEngine().indicesOf(_rangesPattern, from, newLength - suffix, _rangesCaseSensitive);
+        IntList starts = new IntList(_rangeStarts.size() + found.length);
+        int i = 0;
+        for (; i < _rangeStarts.size() && _rangeStarts.get(i) < from; i++) {
+            starts.add(_rangeStarts.get(i));
+        }
+        for (int start : found) {
+            starts.add(start);
+        }
+        for (; i < _rangeStarts.size(); i++) {
+            if (_rangeStarts.get(i) >= oldLength - suffix) {
+                starts.add(_rangeStarts.get(i) + delta);
+            }
+        }
+        _rangeStarts = starts;
+        _ranges = null;
+    }
+
     private transient boolean _oldEditable = false;
 
     private void switchToNonEditable() {
@@ -499,7 +534,6 @@ public class TextInputControlSearchable extends Searchable<String> {
     public void hidePopup() {
         super.hidePopup();
         _selectedIndex = -1;
-        _text = null;
         switchToEditable();
     }
 }
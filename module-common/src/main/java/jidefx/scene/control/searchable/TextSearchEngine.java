@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2002-2015, JIDE Software Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jidefx.scene.control.searchable;
+
+/**
+ * {@code TextSearchEngine} finds the occurrences of the searching text in the text of a {@link
+ * TextInputControlSearchable}. The engine is given the text every time it changes so it can keep whatever it needs to
+ * make the searches fast up to date. By default, {@link HorspoolTextSearchEngine} is used. You can call {@link
+ * TextInputControlSearchable#setTextSearchEngine(TextSearchEngine)} to use a different one.
+ */
+public interface TextSearchEngine {
+    /**
+     * Sets the text to be searched. It is called when the text of the TextInputControl changed and before each search,
+     * so it should return quickly if the text is the same instance as before.
+     *
+     * @param text the text to be searched.
+     */
+    void setText(String text);
+
+    /**
+     * Finds the first occurrence of the pattern starting from the specified index, the same as {@link
+     * String#indexOf(String, int)}.
+     *
+     * @param pattern       the text to look for
+     * @param fromIndex     the index to start the search from
+     * @param caseSensitive true if the search is case sensitive
+     * @return the index of the first occurrence. -1 if not found.
+     */
+    int indexOf(String pattern, int fromIndex, boolean caseSensitive);
+
+    /**
+     * Finds the last occurrence of the pattern starting at or before the specified index, the same as {@link
+     * String#lastIndexOf(String, int)}.
+     *
+     * @param pattern       the text to look for
+     * @param fromIndex     the index to start the backward search from
+     * @param caseSensitive true if the search is case sensitive
+     * @return the index of the last occurrence. -1 if not found.
+     */
+    int lastIndexOf(String pattern, int fromIndex, boolean caseSensitive);
+
+    /**
+     * Finds all the occurrences of the pattern that start in the specified range, including the overlapping ones. The
+     * default implementation calls {@link #indexOf(String, int, boolean)} repeatedly, so the last call may look at the
+     * text after the range. As the ranges of a long text are updated using this method after each edit, an engine
+     * should override it to only look at the characters from fromIndex to toIndex plus the length of the pattern.
+     *
+     * @param pattern       the text to look for. It must not be empty.
+     * @param fromIndex     the index to start the search from, inclusive
+     * @param toIndex       the index to end the search at, exclusive. Only the occurrences that start before it are
+     *                      found.
+     * @param caseSensitive true if the search is case sensitive
+     * @return the indices of the occurrences in ascending order.
+     */
+    default int[] indicesOf(String pattern, int fromIndex, int toIndex, boolean caseSensitive) {
+        IntList indices = new IntList();
+        for (int i = indexOf(pattern, fromIndex, caseSensitive); i != -1 && i < toIndex; i = indexOf(pattern, i + 1, caseSensitive)) {
+            indices.add(i);
+        }
+        return indices.toArray();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2002-2015, JIDE Software Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jidefx.scene.control.searchable;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the k smallest of the long values offered to it, using a max-heap of primitive longs. The ranked searches pack
+ * the score in the high bits and the element index in the low bits of each value, so the smallest values are the best
+ * matches and the ties are broken by the index.
+ */
+class TopKHeap {
+    private final long[] _heap;
+    private int _size;
+
+    TopKHeap(int capacity) {
+        _heap = new long[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Packs a score and an element index into a value.
+     *
+     * @param score the score. The smaller, the better.
+     * @param index the element index
+     * @return the packed value.
+     */
+    static long pack(int score, int index) {
+        return ((long) score << 32) | (index & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Gets the element index from a packed value.
+     *
+     * @param value the packed value
+     * @return the element index.
+     */
+    static int unpackIndex(long value) {
+        return (int) value;
+    }
+
+    /**
+     * Offers a value. It is kept if the heap is not full or it is smaller than the largest value in the heap.
+     *
+     * @param value the value
+     */
+    void offer(long value) {
+        if (_size < _heap.length) {
+            int i = _size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (_heap[parent] >= value) {
+                    break;
+                }
+                _heap[i] = _heap[parent];
+                i = parent;
+            }
+            _heap[i] = value;
+        }
+        else if (value < _heap[0]) {
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= _size) {
+                    break;
+                }
+                if (child + 1 < _size && _heap[child + 1] > _heap[child]) {
+                    child++;
+                }
+                if (_heap[child] <= value) {
+                    break;
+                }
+                _heap[i] = _heap[child];
+                i = child;
+            }
+            _heap[i] = value;
+        }
+    }
+
+    /**
+     * Gets the values in the heap in ascending order.
+     *
+     * @return the sorted values.
+     */
+    long[] toSortedArray() {
+        long[] values = Arrays.copyOf(_heap, _size);
+        Arrays.sort(values);
+        return values;
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2002-2015, JIDE Software Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jidefx.scene.control.searchable;
+
+import javafx.scene.control.TreeItem;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * All the TreeItems of a tree flattened in depth-first order, including the collapsed ones. Besides the flattened list,
+ * it keeps the size of the subtree of each TreeItem, so the position of a TreeItem can be calculated from its ancestors
+ * and its preceding siblings, and the descendants of a TreeItem are always the range right after it.
+ * <p>
+ * When the children of a TreeItem change, {@link #childrenChanged(TreeItem)} only splices the subtrees of the removed
+ * and the added children instead of walking the whole tree again. The subclass is notified of every splice so it can
+ * update anything that is indexed by the positions in the flattened list.
+ *
+ * @param <T> the value type of the TreeItems.
+ */
+abstract class TreeItemIndex<T> {
+    private final TreeItem<T> _root;
+    private final List<TreeItem<T>> _items = new ArrayList<>();
+    private final Map<TreeItem<T>, Integer> _subtreeSizes = new IdentityHashMap<>();
+
+    TreeItemIndex(TreeItem<T> root) {
+        _root = root;
+        if (root != null) {
+            addSubtree(root, _items);
+        }
+    }
+
+    /**
+     * Called after the items were inserted to the flattened list.
+     *
+     * @param index the index of the first inserted item
+     * @param count the number of the inserted items
+     */
+    protected abstract void itemsAdded(int index, int count);
+
+    /**
+     * Called after the items were removed from the flattened list.
+     *
+     * @param index the index of the first removed item
+     * @param count the number of the removed items
+     */
+    protected abstract void itemsRemoved(int index, int count);
+
+    List<TreeItem<T>> getItems() {
+        return _items;
+    }
+
+    /**
+     * Gets the position of the TreeItem in the flattened list.
+     *
+     * @param item the TreeItem
+     * @return the position. -1 if the TreeItem is not in the index.
+     */
+    int indexOf(TreeItem<T> item) {
+        if (item == _root) {
+            return 0;
+        }
+        if (!_subtreeSizes.containsKey(item) || item.getParent() == null) {
+            return -1;
+        }
+        TreeItem<T> parent = item.getParent();
+        int index = indexOf(parent);
+        if (index == -1) {
+            return -1;
+        }
+        index++;
+        for (TreeItem<T> sibling : parent.getChildren()) {
+            if (sibling == item) {
+                return index;
+            }
+            index += getSubtreeSize(sibling);
+        }
+        return -1;
+    }
+
+    /**
+     * Updates the flattened list after the children of the TreeItem changed.
+     *
+     * @param parent the TreeItem whose children changed
+     */
+    void childrenChanged(TreeItem<T> parent) {
+        int index = indexOf(parent);
+        if (index == -1) {
+            return; // not in this tree or will be added with its parent
+        }
+
+        // find the segments of the previous children
+        int end = index + getSubtreeSize(parent);
+        Map<TreeItem<T>, Integer> oldStarts = new IdentityHashMap<>();
+        List<TreeItem<T>> oldChildren = new ArrayList<>();
+        for (int i = index + 1; i < end; i += getSubtreeSize(_items.get(i))) {
+            oldStarts.put(_items.get(i), i);
+            oldChildren.add(_items.get(i));
+        }
+        Map<TreeItem<T>, Boolean> newChildren = new IdentityHashMap<>();
+        for (TreeItem<T> child : parent.getChildren()) {
+            newChildren.put(child, Boolean.TRUE);
+        }
+
+        // remove the subtrees of the removed children, from the last one so the positions of the others stay valid
+        List<TreeItem<T>> retainedChildren = new ArrayList<>();
+        for (int i = oldChildren.size() - 1; i >= 0; i--) {
+            TreeItem<T> child = oldChildren.get(i);
+            if (newChildren.containsKey(child)) {
+                retainedChildren.add(0, child);
+            }
+            else {
+                int start = oldStarts.get(child);
+                int size = getSubtreeSize(child);
+                removeRange(start, size);
+                itemsRemoved(start, size);
+                updateSubtreeSizes(parent, -size);
+            }
+        }
+
+        // insert the subtrees of the added children if the retained children didn't move
+        int retained = 0;
+        for (TreeItem<T> child : parent.getChildren()) {
+            if (oldStarts.containsKey(child)) {
+                if (retained >= retainedChildren.size() || retainedChildren.get(retained) != child) {
+                    rebuildChildren(parent, index);
+                    return;
+                }
+                retained++;
+            }
+        }
+        int position = index + 1;
+        for (TreeItem<T> child : parent.getChildren()) {
+            if (!oldStarts.containsKey(child)) {
+                List<TreeItem<T>> subtree = new ArrayList<>();
+                int size = addSubtree(child, subtree);
+                _items.addAll(position, subtree);
+                itemsAdded(position, size);
+                updateSubtreeSizes(parent, size);
+            }
+            position += getSubtreeSize(child);
+        }
+    }
+
+    /**
+     * Rebuilds the descendants of the TreeItem when its children were permutated. The subtrees of the children that
+     * were there before are copied from the flattened list instead of walking them again. It is called after the
+     * subtrees of the removed children were removed, so all the previous descendants are kept.
+     */
+    private void rebuildChildren(TreeItem<T> parent, int index) {
+        int start = index + 1;
+        int oldSize = getSubtreeSize(parent) - 1;
+        List<TreeItem<T>> descendants = new ArrayList<>(oldSize);
+        Map<TreeItem<T>, Integer> oldStarts = new IdentityHashMap<>();
+        for (int i = start; i < start + oldSize; i += getSubtreeSize(_items.get(i))) {
+            oldStarts.put(_items.get(i), i);
+        }
+        for (TreeItem<T> child : parent.getChildren()) {
+            Integer childStart = oldStarts.get(child);
+            if (childStart != null) {
+                descendants.addAll(_items.subList(childStart, childStart + getSubtreeSize(child)));
+            }
+            else {
+                addSubtree(child, descendants);
+            }
+        }
+        _items.subList(start, start + oldSize).clear();
+        itemsRemoved(start, oldSize);
+        _items.addAll(start, descendants);
+        itemsAdded(start, descendants.size());
+        updateSubtreeSizes(parent, descendants.size() - oldSize);
+    }
+
+    private void removeRange(int start, int size) {
+        List<TreeItem<T>> range = _items.subList(start, start + size);
+        for (TreeItem<T> item : range) {
+            _subtreeSizes.remove(item);
+        }
+        range.clear();
+    }
+
+    /**
+     * Adds the TreeItem and all its descendants in depth-first order.
+     *
+     * @return the size of the subtree.
+     */
+    private int addSubtree(TreeItem<T> item, List<TreeItem<T>> items) {
+        items.add(item);
+        int size = 1;
+        for (TreeItem<T> child : item.getChildren()) {
+            size += addSubtree(child, items);
+        }
+        _subtreeSizes.put(item, size);
+        return size;
+    }
+
+    private int getSubtreeSize(TreeItem<T> item) {
+        Integer size = _subtreeSizes.get(item);
+        return size != null ? size : 0;
+    }
+
+    private void updateSubtreeSizes(TreeItem<T> item, int delta) {
+        for (TreeItem<T> ancestor = item; ancestor != null; ancestor = ancestor == _root ? null : ancestor.getParent()) {
+            _subtreeSizes.put(ancestor, getSubtreeSize(ancestor) + delta);
+        }
+    }
+}
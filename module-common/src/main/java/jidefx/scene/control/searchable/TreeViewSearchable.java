@@ -24,11 +24,11 @@ import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
-import javafx.collections.ObservableList;
+import javafx.event.EventHandler;
+import javafx.event.EventType;
 import javafx.scene.control.TreeItem;
 import javafx.scene.control.TreeView;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -67,7 +67,9 @@ public class TreeViewSearchable<T> extends Searchable<TreeItem<T>> {
     private BooleanProperty _recursiveProperty;
 
     private transient List<TreeItem> _treeItems;
+    private transient TreeItemIndex<T> _treeItemIndex;
     private ChangeListener _rootChangeListener;
+    private EventHandler<TreeItem.TreeModificationEvent<T>> _treeModificationHandler;
 
     public TreeViewSearchable(TreeView<T> treeView) {
         super(treeView);
@@ -88,12 +90,33 @@ public class TreeViewSearchable<T> extends Searchable<TreeItem<T>> {
             _rootChangeListener = new ChangeListener() {
                 @Override
                 public void changed(ObservableValue observable, Object oldValue, Object newValue) {
+                    if (_treeModificationHandler != null) {
+                        if (oldValue != null) {
+                            ((TreeItem<T>) oldValue).removeEventHandler(TreeItem.<T>treeNotificationEvent(), _treeModificationHandler);
+                        }
+                        if (newValue != null) {
+                            ((TreeItem<T>) newValue).addEventHandler(TreeItem.<T>treeNotificationEvent(), _treeModificationHandler);
+                        }
+                    }
                     hidePopup();
                     resetTreeItems();
                 }
             };
         }
         ((TreeView<T>) _node).rootProperty().addListener(_rootChangeListener);
+
+        if (_treeModificationHandler == null) {
+            _treeModificationHandler = new EventHandler<TreeItem.TreeModificationEvent<T>>() {
+                @Override
+                public void handle(TreeItem.TreeModificationEvent<T> event) {
+                    treeModified(event);
+                }
+            };
+        }
+        TreeItem<T> root = ((TreeView<T>) _node).getRoot();
+        if (root != null) {
+            root.addEventHandler(TreeItem.<T>treeNotificationEvent(), _treeModificationHandler);
+        }
     }
 
     @Override
@@ -102,9 +125,52 @@ public class TreeViewSearchable<T> extends Searchable<TreeItem<T>> {
             ((TreeView<T>) _node).rootProperty().removeListener(_rootChangeListener);
             _rootChangeListener = null;
         }
+        if (_treeModificationHandler != null) {
+            TreeItem<T> root = ((TreeView<T>) _node).getRoot();
+            if (root != null) {
+                root.removeEventHandler(TreeItem.<T>treeNotificationEvent(), _treeModificationHandler);
+            }
+            _treeModificationHandler = null;
+        }
         super.uninstallListeners();
     }
 
+    /**
+     * Updates the cached tree items and the element string caches when a TreeItem in the tree changed. In the recursive
+     * mode, only the subtrees of the added and removed children are spliced into the cached tree items. Otherwise, the
+     * rows change when a branch is expanded or collapsed, so the element string caches are reset.
+     *
+     * @param event the TreeModificationEvent
+     */
+    protected void treeModified(TreeItem.TreeModificationEvent<T> event) {
+        resetMatches();
+        EventType<?> eventType = event.getEventType();
+        TreeItem<T> item = event.getTreeItem();
+        if (isRecursive()) {
+            if (_treeItemIndex == null) {
+                return; // will be populated when needed
+            }
+            if (eventType == TreeItem.<T>childrenModificationEvent()) {
+                _treeItemIndex.childrenChanged(item);
+            }
+            else if (eventType == TreeItem.<T>valueChangedEvent()) {
+                int index = _treeItemIndex.indexOf(item);
+                if (index != -1) {
+                    elementsUpdated(index, index + 1);
+                }
+            }
+        }
+        else if (eventType == TreeItem.<T>valueChangedEvent()) {
+            int row = ((TreeView<T>) _node).getRow(item);
+            if (row != -1) {
+                elementsUpdated(row, row + 1);
+            }
+        }
+        else if (eventType != TreeItem.<T>graphicChangedEvent()) {
+            resetElementStringCache();
+        }
+    }
+
     public BooleanProperty recursiveProperty() {
         if (_recursiveProperty == null) {
             _recursiveProperty = new SimpleBooleanProperty();
@@ -191,22 +257,25 @@ public class TreeViewSearchable<T> extends Searchable<TreeItem<T>> {
     }
 
     /**
-     * Recursively go through the tree to populate the tree paths into a list and cache them.
+     * Recursively go through the tree to populate the tree paths into a list and cache them. After that, the list is
+     * kept in sync with the tree by splicing the subtrees of the TreeItems that are added or removed.
      * <p>
      * Tree paths list is only used when recursive attribute is true.
      */
     protected void populateTreePaths() {
-        _treeItems = new ArrayList<>();
-        TreeItem root = ((TreeView<T>) _node).getRoot();
-        populateTreePaths0(root);
-    }
+        TreeItem<T> root = ((TreeView<T>) _node).getRoot();
+        _treeItemIndex = new TreeItemIndex<T>(root) {
+            @Override
+            protected void itemsAdded(int index, int count) {
+                elementsAdded(index, count);
+            }
 
-    private void populateTreePaths0(TreeItem item) {
-        _treeItems.add(item);
-        ObservableList<TreeItem> children = item.getChildren();
-        for (TreeItem child : children) {
-            populateTreePaths0(child);
-        }
+            @Override
+            protected void itemsRemoved(int index, int count) {
+                elementsRemoved(index, count);
+            }
+        };
+        _treeItems = (List) _treeItemIndex.getItems();
     }
 
     /**
@@ -216,6 +285,8 @@ public class TreeViewSearchable<T> extends Searchable<TreeItem<T>> {
      */
     protected void resetTreeItems() {
         _treeItems = null;
+        _treeItemIndex = null;
+        resetElementStringCache();
     }
 
     /**
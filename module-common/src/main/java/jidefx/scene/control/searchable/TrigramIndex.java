@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2002-2015, JIDE Software Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jidefx.scene.control.searchable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An inverted index from the trigrams (the substrings of three characters) of the element strings to the elements
+ * containing them. An element can only contain the searching text if it contains all the trigrams of the searching
+ * text, so intersecting the posting lists of those trigrams gives a small set of candidates that have to be checked by
+ * the actual matcher.
+ * <p>
+ * The posting lists hold stable ids of the elements instead of their indices, so inserting or removing elements at
+ * either end doesn't touch the posting lists. The ids are kept in ascending order of the element indices, which maps an
+ * id back to its index by a binary search. Removed and updated elements leave stale entries in the posting lists.
+ * Those only add candidates that are dropped or rejected by the matcher, so the index is rebuilt once there are too
+ * many of them. Inserting elements in the middle breaks the order of the ids, so it also makes the index stale.
+ * <p>
+ * The trigrams are case folded so the same index serves both case sensitive and case insensitive searches.
+ */
+class TrigramIndex {
+    private final Map<Long, IntList> _postings = new HashMap<>();
+    // the ids of the elements by their index, starting at _offset
+    private int[] _ids = new int[16];
+    private int _offset;
+    private int _size;
+    private int _nextId;
+    private int _staleCount;
+    private boolean _unordered;
+
+    /**
+     * Gets the number of elements in the index.
+     *
+     * @return the number of elements.
+     */
+    int size() {
+        return _size;
+    }
+
+    /**
+     * Checks if the index has so many stale entries that it should be rebuilt.
+     *
+     * @return true if the index should be rebuilt.
+     */
+    boolean isStale() {
+        return _unordered || _staleCount > Math.max(_size, 1024);
+    }
+
+    /**
+     * Adds the next element at the end of the index.
+     *
+     * @param text the element string
+     */
+    void append(String text) {
+        reserve(0, 1);
+        int id = _nextId++;
+        _ids[_offset + _size++] = id;
+        addTrigrams(id, text);
+    }
+
+    /**
+     * Inserts the elements at the specified index. The indices of the elements after them are shifted.
+     *
+     * @param index the index of the first inserted element
+     * @param texts the element strings of the inserted elements
+     */
+    void insert(int index, String[] texts) {
+        int count = texts.length;
+        if (index == _size) {
+            for (String text : texts) {
+                append(text);
+            }
+        }
+        else if (index == 0) {
+            // the ids before the first one keep the order
+            reserve(count, 0);
+            int firstId = _ids[_offset] - count;
+            _offset -= count;
+            _size += count;
+            for (int i = 0; i < count; i++) {
+                _ids[_offset + i] = firstId + i;
+                addTrigrams(firstId + i, texts[i]);
+            }
+        }
+        else {
+            reserve(0, count);
+            System.arraycopy(_ids, _offset + index, _ids, _offset + index + count, _size - index);
+            _size += count;
+            for (int i = 0; i < count; i++) {
+                int id = _nextId++;
+                _ids[_offset + index + i] = id;
+                addTrigrams(id, texts[i]);
+            }
+            _unordered = true;
+        }
+    }
+
+    /**
+     * Removes the elements at the specified index. The indices of the elements after them are shifted.
+     *
+     * @param index the index of the first removed element
+     * @param count the number of removed elements
+     */
+    void remove(int index, int count) {
+        if (index == 0) {
+            _offset += count;
+        }
+        else if (index + count < _size) {
+            System.arraycopy(_ids, _offset + index + count, _ids, _offset + index, _size - index - count);
+        }
+        _size -= count;
+        _staleCount += count;
+    }
+
+    /**
+     * Updates the element at the specified index. The trigrams of the previous string are left in the index as stale
+     * entries.
+     *
+     * @param index the index of the element
+     * @param text  the new element string
+     */
+    void update(int index, String text) {
+        addTrigrams(_ids[_offset + index], text);
+        _staleCount++;
+    }
+
+    /**
+     * Gets the indices of the elements that contain all the trigrams of the literal parts of the query.
+     *
+     * @param query     the searching text
+     * @param wildcards the wildcard characters that separate the literal parts of the query. Empty if the query has no
+     *                  wildcard.
+     * @return the candidate indices in ascending order. Null if the query has no trigram or the index is out of order,
+     *         so all elements are candidates.
+     */
+    IntList getCandidates(String query, char[] wildcards) {
+        if (_unordered) {
+            return null;
+        }
+        String folded = fold(query);
+        IntList candidates = null;
+        int segmentStart = 0;
+        for (int i = 0; i <= folded.length(); i++) {
+            if (i < folded.length() && !isWildcard(folded.charAt(i), wildcards)) {
+                continue;
+            }
+            for (int j = segmentStart; j + 3 <= i; j++) {
+                IntList posting = _postings.get(trigram(folded, j));
+                if (posting == null) {
+                    return new IntList(1);
+                }
+                candidates = candidates == null ? copy(posting) : intersect(candidates, posting);
+                if (candidates.isEmpty()) {
+                    return candidates;
+                }
+            }
+            segmentStart = i + 1;
+        }
+        return candidates == null ? null : toIndices(candidates);
+    }
+
+    /**
+     * Converts the ids to the indices of the elements in place, dropping the ids of the removed elements.
+     */
+    private IntList toIndices(IntList ids) {
+        int size = 0;
+        int from = _offset;
+        for (int i = 0; i < ids.size(); i++) {
+            int position = Arrays.binarySearch(_ids, from, _offset + _size, ids.get(i));
+            if (position >= 0) {
+                ids.set(size++, position - _offset);
+                from = position + 1;
+            }
+        }
+        ids.truncate(size);
+        return ids;
+    }
+
+    private static boolean isWildcard(char c, char[] wildcards) {
+        for (char wildcard : wildcards) {
+            if (c == wildcard) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Makes room for the elements to be inserted at the front and at the back of the ids.
+     */
+    private void reserve(int front, int back) {
+        if (front <= _offset && _offset + _size + back <= _ids.length) {
+            return;
+        }
+        int length = Math.max(_ids.length * 2, _size + front + back);
+        int[] ids = new int[length];
+        int offset = front + (length - _size - front - back) / 2;
+        System.arraycopy(_ids, _offset, ids, offset, _size);
+        _ids = ids;
+        _offset = offset;
+    }
+
+    private void addTrigrams(int id, String text) {
+        if (text == null || text.length() < 3) {
+            return;
+        }
+        String folded = fold(text);
+        for (int i = 0; i + 3 <= folded.length(); i++) {
+            Long key = trigram(folded, i);
+            IntList posting = _postings.get(key);
+            if (posting == null) {
+                posting = new IntList(4);
+                _postings.put(key, posting);
+            }
+            if (posting.isEmpty() || posting.getLast() < id) {
+                posting.add(id);
+            }
+            else if (posting.getLast() != id) {
+                int position = posting.binarySearch(id);
+                if (position < 0) {
+                    posting.insert(-position - 1, id);
+                }
+            }
+        }
+    }
+
+    private static IntList copy(IntList list) {
+        IntList copy = new IntList(list.size());
+        copy.addAll(list);
+        return copy;
+    }
+
+    /**
+     * Keeps the values in the first list that are also in the second list. Both lists must be sorted.
+     */
+    private static IntList intersect(IntList list, IntList other) {
+        int size = 0;
+        int j = 0;
+        for (int i = 0; i < list.size() && j < other.size(); i++) {
+            int value = list.get(i);
+            while (j < other.size() && other.get(j) < value) {
+                j++;
+            }
+            if (j < other.size() && other.get(j) == value) {
+                list.set(size++, value);
+            }
+        }
+        list.truncate(size);
+        return list;
+    }
+
+    private static Long trigram(String folded, int index) {
+        return ((long) folded.charAt(index) << 32) | ((long) folded.charAt(index + 1) << 16) | folded.charAt(index + 2);
+    }
+
+    /**
+     * Folds the case of the string character by character so that the result has the same length as the string. It
+     * doesn't use {@link String#toLowerCase()} which could change the length of the string.
+     */
+    private static String fold(String text) {
+        char[] chars = text.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2002-2015, JIDE Software Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jidefx.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * A compiled matcher for a string with wildcards. It is created by {@link WildcardSupport#compile(String, boolean,
+ * boolean)}.
+ * <p>
+ * The wildcard string is split at the zero-or-more quantifiers into segments of literal characters and any-character
+ * slots. A string matches if all the segments can be found in order. Because a zero-or-more quantifier between two
+ * segments accepts anything, finding each segment at its leftmost position after the previous one is always enough,
+ * so the matcher never backtracks. The time is at most the length of the string times the length of the longest
+ * segment, no matter how many quantifiers there are. A regular expression converted by {@link
+ * WildcardSupport#convert(String)} may take exponential time on patterns like {@code *a*a*a*a*b}.
+ * <p>
+ * The matcher is immutable so it can be used by several threads at the same time.
+ */
+public class WildcardMatcher implements Predicate<String> {
+    private final char[][] _segments;
+    private final boolean[][] _anyChars;
+    private final boolean _anchored;
+    private final boolean _caseSensitive;
+
+    /**
+     * Creates a WildcardMatcher.
+     *
+     * @param s               the string with wildcards
+     * @param wildcardSupport the WildcardSupport that defines the quantifiers
+     * @param fromStart       true if the match must start at the beginning of the string
+     * @param caseSensitive   true if the characters are compared case sensitively
+     */
+    public WildcardMatcher(String s, WildcardSupport wildcardSupport, boolean fromStart, boolean caseSensitive) {
+        char zeroOrOneQuantifier = wildcardSupport.getZeroOrOneQuantifier();
+        char zeroOrMoreQuantifier = wildcardSupport.getZeroOrMoreQuantifier();
+        char oneOrMoreQuantifier = wildcardSupport.getOneOrMoreQuantifier();
+
+        List<char[]> segments = new ArrayList<>();
+        List<boolean[]> anyChars = new ArrayList<>();
+        StringBuilder segment = new StringBuilder();
+        StringBuilder anyChar = new StringBuilder();
+        boolean leadingStar = false;
+        int length = s.length();
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (zeroOrOneQuantifier != 0 && c == zeroOrOneQuantifier) {
+                segment.append(c);
+                anyChar.append('1');
+            }
+            else if ((zeroOrMoreQuantifier != 0 && c == zeroOrMoreQuantifier) || (oneOrMoreQuantifier != 0 && c == oneOrMoreQuantifier)) {
+                if (c == oneOrMoreQuantifier) {
+                    segment.append(c);
+                    anyChar.append('1');
+                }
+                if (segments.isEmpty() && segment.length() == 0) {
+                    leadingStar = true;
+                }
+                addSegment(segments, anyChars, segment, anyChar);
+            }
+            else {
+                segment.append(c);
+                anyChar.append('0');
+            }
+        }
+        addSegment(segments, anyChars, segment, anyChar);
+
+        _segments = segments.toArray(new char[segments.size()][]);
+        _anyChars = anyChars.toArray(new boolean[anyChars.size()][]);
+        _anchored = fromStart && !leadingStar;
+        _caseSensitive = caseSensitive;
+    }
+
+    private static void addSegment(List<char[]> segments, List<boolean[]> anyChars, StringBuilder segment, StringBuilder anyChar) {
+        if (segment.length() == 0) {
+            return;
+        }
+        char[] chars = new char[segment.length()];
+        boolean[] any = new boolean[segment.length()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = segment.charAt(i);
+            any[i] = anyChar.charAt(i) == '1';
+        }
+        segments.add(chars);
+        anyChars.add(any);
+        segment.setLength(0);
+        anyChar.setLength(0);
+    }
+
+    /**
+     * Checks if the string matches the wildcard string anywhere, or at the beginning if it was compiled with
+     * fromStart.
+     *
+     * @param text the string to be checked
+     * @return true if matches.
+     */
+    @Override
+    public boolean test(String text) {
+        int position = 0;
+        for (int s = 0; s < _segments.length; s++) {
+            if (s == 0 && _anchored) {
+                if (!matchesAt(text, 0, 0)) {
+                    return false;
+                }
+                position = _segments[0].length;
+            }
+            else {
+                int index = indexOf(text, s, position);
+                if (index == -1) {
+                    return false;
+                }
+                position = index + _segments[s].length;
+            }
+        }
+        return true;
+    }
+
+    private int indexOf(String text, int segment, int fromIndex) {
+        int max = text.length() - _segments[segment].length;
+        for (int i = fromIndex; i <= max; i++) {
+            if (matchesAt(text, segment, i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean matchesAt(String text, int segment, int index) {
+        char[] chars = _segments[segment];
+        boolean[] any = _anyChars[segment];
+        if (index + chars.length > text.length()) {
+            return false;
+        }
+        for (int i = 0; i < chars.length; i++) {
+            if (!any[i] && !charEquals(chars[i], text.charAt(index + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean charEquals(char c1, char c2) {
+        return c1 == c2 || (!_caseSensitive && Character.toLowerCase(Character.toUpperCase(c1)) == Character.toLowerCase(Character.toUpperCase(c2)));
+    }
+}
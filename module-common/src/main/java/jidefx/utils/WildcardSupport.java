@@ -21,6 +21,7 @@
 package jidefx.utils;
 
 import java.io.Serializable;
+import java.util.function.Predicate;
 
 /**
  * An interface to support the wildcard. All methods in this interface have the default implementations. It uses the
@@ -105,4 +106,21 @@ public interface WildcardSupport extends Serializable {
 
         return buffer.toString();
     }
+
+    /**
+     * Compiles a string with wildcards to a matcher that checks if a string contains a match of it. Different from
+     * the regular expression returned from {@link #convert(String)}, the matcher never backtracks so it takes linear
+     * time even for the strings with many quantifiers.
+     * <p>
+     * Searchable uses this method unless {@link #convert(String)} is overridden, in which case the converted regular
+     * expression is used so the customization is still respected.
+     *
+     * @param s             a string with wildcards.
+     * @param fromStart     true if the match must start at the beginning of the string.
+     * @param caseSensitive true if the characters are compared case sensitively.
+     * @return a matcher that returns true if the string contains a match of the wildcard string.
+     */
+    default Predicate<String> compile(String s, boolean fromStart, boolean caseSensitive) {
+        return new WildcardMatcher(s, this, fromStart, caseSensitive);
+    }
 }
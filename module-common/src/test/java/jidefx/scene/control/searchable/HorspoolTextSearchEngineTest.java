@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2002-2015, JIDE Software Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jidefx.scene.control.searchable;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class HorspoolTextSearchEngineTest {
+
+    @Test
+    public void testIndicesOfAfterEdits() throws Exception {
+        Random random = new Random(20150314L);
+        HorspoolTextSearchEngine engine = new HorspoolTextSearchEngine();
+        StringBuilder text = new StringBuilder(randomString(random, 200));
+        for (int i = 0; i < 5000; i++) {
+            // replace a random part of the text, the same way typing or pasting does
+            int start = random.nextInt(text.length() + 1);
+            int end = Math.min(text.length(), start + random.nextInt(5));
+            text.replace(start, end, randomString(random, random.nextInt(5)));
+            String s = text.toString();
+            engine.setText(s);
+
+            String pattern = randomString(random, 1 + random.nextInt(3));
+            int from = random.nextInt(s.length() + 1);
+            int to = from + random.nextInt(s.length() - from + 1);
+            boolean caseSensitive = random.nextBoolean();
+            Assert.assertArrayEquals("\"" + pattern + "\" in [" + from + ", " + to + ") of \"" + s + "\"", //NON-NLS
+                    expectedIndices(s, pattern, from, to, caseSensitive), engine.indicesOf(pattern, from, to, caseSensitive));
+        }
+    }
+
+    @Test
+    public void testIndicesOfOnlySearchesTheRange() throws Exception {
+        char[] chars = new char[10000000];
+        Arrays.fill(chars, 'a');
+        HorspoolTextSearchEngine engine = new HorspoolTextSearchEngine();
+        engine.setText(new String(chars));
+
+        // an occurrence starting right before toIndex is found, the ones starting at or after it are not
+        Assert.assertArrayEquals(new int[]{99, 100}, engine.indicesOf("aa", 99, 101, true)); //NON-NLS
+        Assert.assertArrayEquals(new int[]{99, 100}, engine.indicesOf("aa", 99, 101, false)); //NON-NLS
+
+        // a pattern that is not in the text. Searching the whole text a thousand times would take seconds.
+        long start = System.nanoTime();
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(0, engine.indicesOf("b", i * 100, i * 100 + 10, true).length); //NON-NLS
+            Assert.assertEquals(0, engine.indicesOf("b", i * 100, i * 100 + 10, false).length); //NON-NLS
+        }
+        Assert.assertTrue(System.nanoTime() - start < 1000000000L);
+    }
+
+    private static int[] expectedIndices(String text, String pattern, int from, int to, boolean caseSensitive) {
+        IntList indices = new IntList();
+        for (int i = from; i < to && i + pattern.length() <= text.length(); i++) {
+            if (text.regionMatches(!caseSensitive, i, pattern, 0, pattern.length())) {
+                indices.add(i);
+            }
+        }
+        return indices.toArray();
+    }
+
+    private static String randomString(Random random, int length) {
+        StringBuilder buffer = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            buffer.append("abAB".charAt(random.nextInt(4))); //NON-NLS
+        }
+        return buffer.toString();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2002-2015, JIDE Software Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jidefx.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+public class WildcardMatcherTest {
+
+    private final WildcardSupport _wildcardSupport = new WildcardSupport() {};
+
+    @Test
+    public void testMatch() throws Exception {
+        Assert.assertTrue(_wildcardSupport.compile("colo?r", false, true).test("colour")); //NON-NLS
+        Assert.assertFalse(_wildcardSupport.compile("colo?r", false, true).test("color")); //NON-NLS
+        Assert.assertTrue(_wildcardSupport.compile("ab*c", false, true).test("abc")); //NON-NLS
+        Assert.assertTrue(_wildcardSupport.compile("ab*c", false, true).test("xabdbcx")); //NON-NLS
+        Assert.assertFalse(_wildcardSupport.compile("ab+c", false, true).test("abc")); //NON-NLS
+        Assert.assertTrue(_wildcardSupport.compile("ab+c", false, true).test("abbc")); //NON-NLS
+        Assert.assertFalse(_wildcardSupport.compile("ab*c", true, true).test("xabc")); //NON-NLS
+        Assert.assertTrue(_wildcardSupport.compile("*bc", true, true).test("xabc")); //NON-NLS
+        Assert.assertTrue(_wildcardSupport.compile("AB*c", false, false).test("abC")); //NON-NLS
+        Assert.assertFalse(_wildcardSupport.compile("AB*c", false, true).test("abC")); //NON-NLS
+    }
+
+    @Test
+    public void testNoBacktracking() throws Exception {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            text.append('a');
+        }
+        long start = System.nanoTime();
+        Assert.assertFalse(_wildcardSupport.compile("*a*a*a*a*a*a*a*a*b", false, true).test(text.toString())); //NON-NLS
+        Assert.assertTrue(System.nanoTime() - start < 1000000000L);
+    }
+
+    @Test
+    public void testSameAsRegularExpression() throws Exception {
+        Random random = new Random(20150101L);
+        for (int i = 0; i < 200000; i++) {
+            String wildcards = randomString(random, "ab?*+", 1 + random.nextInt(6)); //NON-NLS
+            String text = randomString(random, "abAB", random.nextInt(12)); //NON-NLS
+            boolean fromStart = random.nextBoolean();
+            boolean caseSensitive = random.nextBoolean();
+
+            String s = _wildcardSupport.convert(wildcards);
+            Pattern pattern = Pattern.compile(fromStart ? "^" + s : s, caseSensitive ? 0 : Pattern.CASE_INSENSITIVE);
+            Predicate<String> matcher = _wildcardSupport.compile(wildcards, fromStart, caseSensitive);
+            Assert.assertEquals("\"" + wildcards + "\" on \"" + text + "\" fromStart=" + fromStart + " caseSensitive=" + caseSensitive, //NON-NLS
+                    pattern.matcher(text).find(), matcher.test(text));
+        }
+    }
+
+    private static String randomString(Random random, String chars, int length) {
+        StringBuilder buffer = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            buffer.append(chars.charAt(random.nextInt(chars.length())));
+        }
+        return buffer.toString();
+    }
+}
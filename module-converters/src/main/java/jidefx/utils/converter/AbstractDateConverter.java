@@ -25,14 +25,23 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * {@link jidefx.utils.converter.ObjectConverter} implementation for {@link java.util.Date}, {@link java.util.Calendar}
  * or {@link Number}. All of aforementioned data types can be accepted by the toString method. For the fromString
  * method, it will only return {@link java.util.Date}. Its subclasses might return Calendar or Number.
+ * <p>
+ * The converter is thread safe without locking. As DateFormat isn't, each thread formats and parses using its own
+ * copies of the DateFormats of the converter. The copies are made again after any of the default formats is set, so a
+ * DateFormat returned from a getter such as {@link #getDefaultDateFormat()} and changed afterwards is only used once
+ * it is set again using the matching setter, even if it is the same instance. A DateFormat set on the converter
+ * context using {@link #PROPERTY_DATE_FORMAT} is used directly, synchronized on the DateFormat itself.
  */
-abstract public class AbstractDateConverter<T> extends DefaultObjectConverter<T> {
+abstract public class AbstractDateConverter<T> extends DefaultObjectConverter<T> implements ThreadSafeConverter {
 
     /**
      * A converter context to tell the DateConverter using a DateFormat from SimpleDateFormat.getDateTimeInstance to do
@@ -56,24 +65,45 @@ abstract public class AbstractDateConverter<T> extends DefaultObjectConverter<T>
      */
     public static final String PROPERTY_DATE_FORMAT = "DateFormat"; //NON-NLS
 
+    private static final int MAX_THREAD_FORMATS = 32;
+
     private DateFormat _shortFormat = SimpleDateFormat.getDateInstance(DateFormat.SHORT);
     private DateFormat _mediumFormat = SimpleDateFormat.getDateInstance(DateFormat.MEDIUM);
     private DateFormat _longFormat = SimpleDateFormat.getDateInstance(DateFormat.LONG);
 
-    private DateFormat _defaultFormat = SimpleDateFormat.getDateInstance(DateFormat.DEFAULT);
+    private volatile DateFormat _defaultFormat = SimpleDateFormat.getDateInstance(DateFormat.DEFAULT);
 
     private DateFormat _shortDateTimeFormat = SimpleDateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT);
     private DateFormat _mediumDateTimeFormat = SimpleDateFormat.getDateTimeInstance(DateFormat.MEDIUM, DateFormat.MEDIUM);
     private DateFormat _longDateTimeFormat = SimpleDateFormat.getDateTimeInstance(DateFormat.LONG, DateFormat.LONG);
 
-    private DateFormat _defaultDateTimeFormat = SimpleDateFormat.getDateTimeInstance(DateFormat.DEFAULT, DateFormat.DEFAULT);
+    private volatile DateFormat _defaultDateTimeFormat =
+            SimpleDateFormat.getDateTimeInstance(DateFormat.DEFAULT, DateFormat.DEFAULT);
 
     private DateFormat _shortTimeFormat = SimpleDateFormat.getTimeInstance(DateFormat.SHORT);
     private DateFormat _mediumTimeFormat = SimpleDateFormat.getTimeInstance(DateFormat.MEDIUM);
     private DateFormat _longTimeFormat = SimpleDateFormat.getTimeInstance(DateFormat.LONG);
 
-    private DateFormat _defaultTimeFormat = SimpleDateFormat.getTimeInstance(DateFormat.DEFAULT);
+    private volatile DateFormat _defaultTimeFormat = SimpleDateFormat.getTimeInstance(DateFormat.DEFAULT);
+
+    // increased whenever a default format is set, which makes all the threads copy the formats again
+    private final AtomicInteger _formatVersion = new AtomicInteger();
 
+    // the copies of the DateFormats above used by the current thread
+    private final ThreadLocal<ThreadFormats> _threadFormats = new ThreadLocal<ThreadFormats>() {
+        @Override
+        protected ThreadFormats initialValue() {
+            return new ThreadFormats();
+        }
+    };
+
+    /**
+     * The copies of the DateFormats made by a thread and the format version they were copied at.
+     */
+    private static class ThreadFormats {
+        private final Map<DateFormat, DateFormat> _formats = new IdentityHashMap<>();
+        private int _version;
+    }
 
     /**
      * Creates a DateConverter.
@@ -81,6 +111,32 @@ abstract public class AbstractDateConverter<T> extends DefaultObjectConverter<T>
     public AbstractDateConverter() {
     }
 
+    /**
+     * Gets the copy of the DateFormat for the current thread. The copy is made the first time the thread uses the
+     * DateFormat, and again after the format version changed.
+     *
+     * @param format the DateFormat of the converter
+     * @return the copy of the DateFormat.
+     */
+    private DateFormat getThreadFormat(DateFormat format) {
+        ThreadFormats threadFormats = _threadFormats.get();
+        Map<DateFormat, DateFormat> formats = threadFormats._formats;
+        int version = _formatVersion.get();
+        if (threadFormats._version != version) {
+            formats.clear();
+            threadFormats._version = version;
+        }
+        DateFormat threadFormat = formats.get(format);
+        if (threadFormat == null) {
+            if (formats.size() >= MAX_THREAD_FORMATS) {
+                formats.clear(); // shouldn't happen as there are only twelve formats
+            }
+            threadFormat = (DateFormat) format.clone();
+            formats.put(format, threadFormat);
+        }
+        return threadFormat;
+    }
+
     /**
      * Converts the object to String. The object can be a Calendar, a Date or a Number. As long as the DateFormat can
      * format it correctly, it will be converted to a String. If the object is already a String, we will return it
@@ -90,7 +146,7 @@ abstract public class AbstractDateConverter<T> extends DefaultObjectConverter<T>
      * @param context the converter context.
      * @return the string
      */
-    synchronized public String anyDateToString(Object object, ConverterContext context) {
+    public String anyDateToString(Object object, ConverterContext context) {
         if (object == null) {
             return "";
         }
@@ -100,32 +156,29 @@ abstract public class AbstractDateConverter<T> extends DefaultObjectConverter<T>
             timeZone = ((Calendar) object).getTimeZone();
             object = ((Calendar) object).getTime();
         }
-        else if (object instanceof Date) {
-            Calendar cal = Calendar.getInstance();
-            cal.setTime(((Date) object));
-            timeZone = cal.getTimeZone();
-        }
         else {
-            timeZone = TimeZone.getDefault();
+            timeZone = TimeZone.getDefault(); // the time zone of Calendar.getInstance()
         }
 
         if (object instanceof Date || object instanceof Number) {
             Object format = context != null ? context.getProperties().get(PROPERTY_DATE_FORMAT) : null;
             if (format instanceof DateFormat) {
-                return ((DateFormat) format).format(object);
+                synchronized (format) {
+                    return ((DateFormat) format).format(object);
+                }
             }
-            else if (CONTEXT_DATETIME.equals(context)) {
-                _defaultDateTimeFormat.setTimeZone(timeZone);
-                return _defaultDateTimeFormat.format(object);
+            DateFormat threadFormat;
+            if (CONTEXT_DATETIME.equals(context)) {
+                threadFormat = getThreadFormat(_defaultDateTimeFormat);
             }
             else if (CONTEXT_TIME.equals(context)) {
-                _defaultTimeFormat.setTimeZone(timeZone);
-                return _defaultTimeFormat.format(object);
+                threadFormat = getThreadFormat(_defaultTimeFormat);
             }
             else /* if (CONTEXT_DATE.equals(context)) */ {
-                _defaultFormat.setTimeZone(timeZone);
-                return _defaultFormat.format(object);
+                threadFormat = getThreadFormat(_defaultFormat);
             }
+            threadFormat.setTimeZone(timeZone);
+            return threadFormat.format(object);
         }
         else if (object instanceof String) {
             return (String) object;
@@ -147,7 +200,7 @@ abstract public class AbstractDateConverter<T> extends DefaultObjectConverter<T>
      * @return the Date. If the string is null or empty, null will be returned. If the string cannot be parsed as a
      *         date, the string itself will be returned.
      */
-    synchronized public Object fromStringToDate(String string, ConverterContext context) {
+    public Object fromStringToDate(String string, ConverterContext context) {
         if (string == null) {
             return null;
         }
@@ -161,7 +214,9 @@ abstract public class AbstractDateConverter<T> extends DefaultObjectConverter<T>
             Object format = context != null ? context.getProperties().get(PROPERTY_DATE_FORMAT) : null;
             if (format instanceof DateFormat) {
                 try {
-                    return ((DateFormat) format).parse(string);
+                    synchronized (format) {
+                        return ((DateFormat) format).parse(string);
+                    }
                 }
                 catch (ParseException e) {
                     // ignore
@@ -169,27 +224,27 @@ abstract public class AbstractDateConverter<T> extends DefaultObjectConverter<T>
             }
 
             if (CONTEXT_DATETIME.equals(context)) {
-                return _defaultDateTimeFormat.parse(string);
+                return getThreadFormat(_defaultDateTimeFormat).parse(string);
             }
             else if (CONTEXT_TIME.equals(context)) {
-                return _defaultTimeFormat.parse(string);
+                return getThreadFormat(_defaultTimeFormat).parse(string);
             }
             else /* if (CONTEXT_DATE.equals(context)) */ {
-                return _defaultFormat.parse(string);
+                return getThreadFormat(_defaultFormat).parse(string);
             }
         }
         catch (ParseException e1) { // if current formatter doesn't work try those default ones.
             if (CONTEXT_DATETIME.equals(context)) {
                 try {
-                    return _shortDateTimeFormat.parse(string);
+                    return getThreadFormat(_shortDateTimeFormat).parse(string);
                 }
                 catch (ParseException e2) {
                     try {
-                        return _mediumDateTimeFormat.parse(string);
+                        return getThreadFormat(_mediumDateTimeFormat).parse(string);
                     }
                     catch (ParseException e3) {
                         try {
-                            return _longDateTimeFormat.parse(string);
+                            return getThreadFormat(_longDateTimeFormat).parse(string);
                         }
                         catch (ParseException e4) {
                             // null
@@ -199,15 +254,15 @@ abstract public class AbstractDateConverter<T> extends DefaultObjectConverter<T>
             }
             else if (CONTEXT_TIME.equals(context)) {
                 try {
-                    return _shortTimeFormat.parse(string);
+                    return getThreadFormat(_shortTimeFormat).parse(string);
                 }
                 catch (ParseException e2) {
                     try {
-                        return _mediumTimeFormat.parse(string);
+                        return getThreadFormat(_mediumTimeFormat).parse(string);
                     }
                     catch (ParseException e3) {
                         try {
-                            return _longTimeFormat.parse(string);
+                            return getThreadFormat(_longTimeFormat).parse(string);
                         }
                         catch (ParseException e4) {
                             return string;  // nothing works just return null so that old value will be kept.
@@ -217,15 +272,15 @@ abstract public class AbstractDateConverter<T> extends DefaultObjectConverter<T>
             }
             else /* if (CONTEXT_DATE.equals(context)) */ {
                 try {
-                    return _shortFormat.parse(string);
+                    return getThreadFormat(_shortFormat).parse(string);
                 }
                 catch (ParseException e2) {
                     try {
-                        return _mediumFormat.parse(string);
+                        return getThreadFormat(_mediumFormat).parse(string);
                     }
                     catch (ParseException e3) {
                         try {
-                            return _longFormat.parse(string);
+                            return getThreadFormat(_longFormat).parse(string);
                         }
                         catch (ParseException e4) {
                             // null
@@ -252,6 +307,8 @@ abstract public class AbstractDateConverter<T> extends DefaultObjectConverter<T>
 
     /**
      * Gets the default format for date. This is used only when context is {@link #CONTEXT_DATE}.
+     * <p>
+     * The changes made to the returned DateFormat take effect after it is set again using the setter.
      *
      * @return the default format for date.
      */
@@ -266,10 +323,13 @@ abstract public class AbstractDateConverter<T> extends DefaultObjectConverter<T>
      */
     public void setDefaultDateFormat(DateFormat defaultDateFormat) {
         _defaultFormat = defaultDateFormat;
+        _formatVersion.incrementAndGet();
     }
 
     /**
      * Gets the default format for time. This is used only when context is {@link #CONTEXT_TIME}.
+     * <p>
+     * The changes made to the returned DateFormat take effect after it is set again using the setter.
      *
      * @return the default format for time.
      */
@@ -284,10 +344,13 @@ abstract public class AbstractDateConverter<T> extends DefaultObjectConverter<T>
      */
     public void setDefaultTimeFormat(DateFormat defaultTimeFormat) {
         _defaultTimeFormat = defaultTimeFormat;
+        _formatVersion.incrementAndGet();
     }
 
     /**
      * Gets the default format for date/time. This is used only when context is {@link #CONTEXT_DATETIME}.
+     * <p>
+     * The changes made to the returned DateFormat take effect after it is set again using the setter.
      *
      * @return the default format for date/time.
      */
@@ -302,6 +365,7 @@ abstract public class AbstractDateConverter<T> extends DefaultObjectConverter<T>
      */
     public void setDefaultDateTimeFormat(DateFormat defaultDateTimeFormat) {
         _defaultDateTimeFormat = defaultDateTimeFormat;
+        _formatVersion.incrementAndGet();
     }
 }
 
@@ -28,7 +28,7 @@ import java.util.Locale;
  * ConverterContext)} will return true or false for both localized boolean text as well as the English version text
  * (such as "true" or "false").
  */
-public class BooleanConverter extends DefaultObjectConverter<Boolean> {
+public class BooleanConverter extends DefaultObjectConverter<Boolean> implements ThreadSafeConverter {
 
     public BooleanConverter() {
     }
@@ -25,7 +25,7 @@ import java.io.File;
 /**
  * {@link ObjectConverter} implementation for {@link File} using the full file path.
  */
-public class FileConverter extends DefaultObjectConverter<File> {
+public class FileConverter extends DefaultObjectConverter<File> implements ThreadSafeConverter {
 
     @Override
     public String toString(File file, ConverterContext context) {
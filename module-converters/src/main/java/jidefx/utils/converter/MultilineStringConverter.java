@@ -25,7 +25,7 @@ package jidefx.utils.converter;
  * can display the whole string in one line instead of automatically wrapping the lines, and un-escape them in the
  * fromString method.
  */
-public class MultilineStringConverter extends DefaultObjectConverter<String> {
+public class MultilineStringConverter extends DefaultObjectConverter<String> implements ThreadSafeConverter {
     public static final ConverterContext CONTEXT = new ConverterContext("MultilineString"); //NON-NLS
 
     @Override
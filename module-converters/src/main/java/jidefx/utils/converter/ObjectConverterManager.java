@@ -45,6 +45,7 @@ import jidefx.utils.converter.time.LocalDateTimeConverter;
 import jidefx.utils.converter.time.LocalTimeConverter;
 
 import java.io.File;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.text.NumberFormat;
 import java.time.LocalDate;
@@ -53,6 +54,9 @@ import java.time.LocalTime;
 import java.time.YearMonth;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 public class ObjectConverterManager {
 
@@ -108,6 +112,9 @@ public class ObjectConverterManager {
 
     private ObjectConverter _defaultConverter = new DefaultObjectConverter();
 
+    // the number of values converted by one task when a batch is converted in parallel
+    private static final int PARALLEL_CHUNK_SIZE = 4096;
+
     public void resetInit() {
         _inited = false;
     }
@@ -394,36 +401,221 @@ public class ObjectConverterManager {
                     context.getProperties().remove(ConverterContext.PROPERTY_OBJECT_CONVERTER_MANAGER);
                 }
             }
-            if (value != null && clazz != null && !clazz.isAssignableFrom(value.getClass())) {
-                if (TypeUtils.isNumericType(clazz) && value instanceof Number) {
-                    clazz = TypeUtils.convertPrimitiveToWrapperType(clazz);
-                    if (clazz == Double.class) {
-                        return ((Number) value).doubleValue();
-                    }
-                    if (clazz == Byte.class) {
-                        return ((Number) value).byteValue();
-                    }
-                    if (clazz == Short.class) {
-                        return ((Number) value).shortValue();
-                    }
-                    if (clazz == Integer.class) {
-                        return ((Number) value).intValue();
-                    }
-                    if (clazz == Long.class) {
-                        return ((Number) value).longValue();
+            return toType(value, clazz);
+        }
+        else {
+            return null;
+        }
+    }
+
+    /**
+     * Converts the value returned from a converter to the requested numeric type if the converter returned a different
+     * kind of Number.
+     */
+    private static Object toType(Object value, Class<?> clazz) {
+        if (value != null && clazz != null && !clazz.isAssignableFrom(value.getClass())) {
+            if (TypeUtils.isNumericType(clazz) && value instanceof Number) {
+                clazz = TypeUtils.convertPrimitiveToWrapperType(clazz);
+                if (clazz == Double.class) {
+                    return ((Number) value).doubleValue();
+                }
+                if (clazz == Byte.class) {
+                    return ((Number) value).byteValue();
+                }
+                if (clazz == Short.class) {
+                    return ((Number) value).shortValue();
+                }
+                if (clazz == Integer.class) {
+                    return ((Number) value).intValue();
+                }
+                if (clazz == Long.class) {
+                    return ((Number) value).longValue();
+                }
+                if (clazz == Float.class) {
+                    return ((Number) value).floatValue();
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Converts a column of values to Strings. Different from calling {@link #toString(Object, Class, ConverterContext)}
+     * for each value, the converter is looked up and the context is prepared only once for the whole column.
+     *
+     * @param values   the values
+     * @param clazz    the data type of the values
+     * @param context  the converter context
+     * @param parallel true to convert the values in parallel. It only takes effect if the converter is a {@link
+     *                 ThreadSafeConverter} or the
+     *                 DefaultObjectConverter. Otherwise the values are always converted one by one.
+     * @return the Strings, in the same order as the values.
+     */
+    public String[] toStrings(List<?> values, Class<?> clazz, ConverterContext context, boolean parallel) {
+        return toStrings(values.toArray(), clazz, context, parallel);
+    }
+
+    /**
+     * Converts a column of values to Strings. Different from calling {@link #toString(Object, Class, ConverterContext)}
+     * for each value, the converter is looked up and the context is prepared only once for the whole column.
+     *
+     * @param values   the values
+     * @param clazz    the data type of the values
+     * @param context  the converter context
+     * @param parallel true to convert the values in parallel. It only takes effect if the converter is a {@link
+     *                 ThreadSafeConverter} or the
+     *                 DefaultObjectConverter. Otherwise the values are always converted one by one.
+     * @return the Strings, in the same order as the values.
+     */
+    @SuppressWarnings("Convert2Lambda")
+    public String[] toStrings(final Object[] values, Class<?> clazz, ConverterContext context, boolean parallel) {
+        final ConverterContext converterContext = context != null ? context : ConverterContext.CONTEXT_DEFAULT;
+        ObjectConverter<Object> objectConverter = getConverter(clazz, converterContext);
+        final ObjectConverter<Object> converter = objectConverter != null ? objectConverter : new DefaultObjectConverter<>();
+        final String[] strings = new String[values.length];
+        startConversion(converter, converterContext);
+        try {
+            if (parallel && isParallel(converter, values.length)) {
+                forEachChunk(values.length, new IntConsumer() {
+                    @Override
+                    public void accept(int index) {
+                        strings[index] = converter.toString(values[index], converterContext);
                     }
-                    if (clazz == Float.class) {
-                        return ((Number) value).floatValue();
+                });
+            }
+            else {
+                for (int i = 0; i < values.length; i++) {
+                    strings[i] = converter.toString(values[i], converterContext);
+                }
+            }
+        }
+        finally {
+            endConversion(converter, converterContext);
+        }
+        return strings;
+    }
+
+    /**
+     * Converts a column of values to Strings and appends them to the Appendable, separated by the separator. The
+     * converter is looked up and the context is prepared only once for the whole column, and no String array is
+     * created for the column.
+     *
+     * @param out       the Appendable such as a Writer or a StringBuilder
+     * @param values    the values
+     * @param clazz     the data type of the values
+     * @param context   the converter context
+     * @param separator the separator between two values
+     * @throws IOException if the Appendable failed to append.
+     */
+    public void appendStrings(Appendable out, Iterable<?> values, Class<?> clazz, ConverterContext context,
+                              CharSequence separator) throws IOException {
+        if (context == null) {
+            context = ConverterContext.CONTEXT_DEFAULT;
+        }
+        ObjectConverter<Object> converter = getConverter(clazz, context);
+        if (converter == null) {
+            converter = new DefaultObjectConverter<>();
+        }
+        startConversion(converter, context);
+        try {
+            boolean first = true;
+            for (Object value : values) {
+                if (!first) {
+                    out.append(separator);
+                }
+                out.append(converter.toString(value, context));
+                first = false;
+            }
+        }
+        finally {
+            endConversion(converter, context);
+        }
+    }
+
+    /**
+     * Converts a column of Strings to values. Different from calling {@link #fromString(String, Class,
+     * ConverterContext)} for each String, the converter is looked up and the context is prepared only once for the
+     * whole column.
+     *
+     * @param strings  the Strings
+     * @param clazz    the data type of the values
+     * @param context  the converter context
+     * @param parallel true to convert the Strings in parallel. It only takes effect if the converter is a {@link
+     *                 ThreadSafeConverter} or the
+     *                 DefaultObjectConverter. Otherwise the Strings are always converted one by one.
+     * @return the values, in the same order as the Strings. A value is null if its String failed to convert.
+     */
+    @SuppressWarnings("Convert2Lambda")
+    public Object[] fromStrings(final String[] strings, final Class<?> clazz, ConverterContext context,
+                                boolean parallel) {
+        final ConverterContext converterContext = context != null ? context : ConverterContext.CONTEXT_DEFAULT;
+        final ObjectConverter<Object> converter = getConverter(clazz, converterContext);
+        final Object[] values = new Object[strings.length];
+        if (converter == null) {
+            return values;
+        }
+        startConversion(converter, converterContext);
+        try {
+            if (parallel && isParallel(converter, strings.length)) {
+                forEachChunk(strings.length, new IntConsumer() {
+                    @Override
+                    public void accept(int index) {
+                        values[index] = toType(converter.fromString(strings[index], converterContext), clazz);
                     }
+                });
+            }
+            else {
+                for (int i = 0; i < strings.length; i++) {
+                    values[i] = toType(converter.fromString(strings[i], converterContext), clazz);
                 }
             }
-            return value;
         }
-        else {
-            return null;
+        finally {
+            endConversion(converter, converterContext);
+        }
+        return values;
+    }
+
+    private void startConversion(ObjectConverter<?> converter, ConverterContext context) {
+        if (converter instanceof RequiringConverterManager) {
+            context.getProperties().put(ConverterContext.PROPERTY_OBJECT_CONVERTER_MANAGER, this);
+        }
+    }
+
+    private void endConversion(ObjectConverter<?> converter, ConverterContext context) {
+        if (converter instanceof RequiringConverterManager) {
+            context.getProperties().remove(ConverterContext.PROPERTY_OBJECT_CONVERTER_MANAGER);
         }
     }
 
+    /**
+     * Checks if a batch can be converted in parallel. Besides the {@link ThreadSafeConverter}s, the plain
+     * DefaultObjectConverter registered for String and used for the types without a converter only calls toString, so
+     * it can be used by several threads too. Its subclasses may keep state, so they are not included.
+     */
+    private static boolean isParallel(ObjectConverter<?> converter, int count) {
+        return (converter instanceof ThreadSafeConverter || converter.getClass() == DefaultObjectConverter.class)
+                && count > PARALLEL_CHUNK_SIZE;
+    }
+
+    /**
+     * Splits the indices into chunks of {@link #PARALLEL_CHUNK_SIZE} and calls the action for all the indices of each
+     * chunk in the common fork/join pool.
+     */
+    @SuppressWarnings("Convert2Lambda")
+    private static void forEachChunk(final int count, final IntConsumer action) {
+        int chunks = (count + PARALLEL_CHUNK_SIZE - 1) / PARALLEL_CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel().forEach(new IntConsumer() {
+            @Override
+            public void accept(int chunk) {
+                int end = Math.min(count, (chunk + 1) * PARALLEL_CHUNK_SIZE);
+                for (int i = chunk * PARALLEL_CHUNK_SIZE; i < end; i++) {
+                    action.accept(i);
+                }
+            }
+        });
+    }
+
     public boolean isAutoInit() {
         return _autoInit;
     }
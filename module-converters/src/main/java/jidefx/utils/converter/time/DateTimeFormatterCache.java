@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2002-2015, JIDE Software Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jidefx.utils.converter.time;
+
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A cache of the DateTimeFormatters compiled from the patterns, shared by all the {@link TemporalAccessConverter}s.
+ * DateTimeFormatter is immutable, so the same instance can be used by all the threads. When the cache is full, it is
+ * cleared and filled again by the patterns that are still in use.
+ */
+class DateTimeFormatterCache {
+    static final int MAX_SIZE = 256;
+
+    private static final ConcurrentHashMap<Key, DateTimeFormatter> _formatters = new ConcurrentHashMap<>();
+
+    private DateTimeFormatterCache() {
+    }
+
+    /**
+     * Gets the DateTimeFormatter for the pattern, the same as DateTimeFormatter.ofPattern(pattern,
+     * locale).withZone(zone).
+     *
+     * @param pattern the pattern
+     * @param locale  the locale
+     * @param zone    the zone. Null to not override the zone.
+     * @return the DateTimeFormatter.
+     * @throws IllegalArgumentException if the pattern is invalid.
+     */
+    static DateTimeFormatter getFormatter(String pattern, Locale locale, ZoneId zone) {
+        Key key = new Key(pattern, locale, zone);
+        DateTimeFormatter formatter = _formatters.get(key);
+        if (formatter == null) {
+            formatter = DateTimeFormatter.ofPattern(pattern, locale);
+            if (zone != null) {
+                formatter = formatter.withZone(zone);
+            }
+            if (_formatters.size() >= MAX_SIZE) {
+                _formatters.clear();
+            }
+            _formatters.put(key, formatter);
+        }
+        return formatter;
+    }
+
+    static int getSize() {
+        return _formatters.size();
+    }
+
+    private static class Key {
+        private final String _pattern;
+        private final Locale _locale;
+        private final ZoneId _zone;
+
+        Key(String pattern, Locale locale, ZoneId zone) {
+            _pattern = pattern;
+            _locale = locale;
+            _zone = zone;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return _pattern.equals(key._pattern) && _locale.equals(key._locale) && Objects.equals(_zone, key._zone);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * _pattern.hashCode() + _locale.hashCode()) + Objects.hashCode(_zone);
+        }
+    }
+}
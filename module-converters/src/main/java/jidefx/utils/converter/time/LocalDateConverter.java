@@ -46,9 +46,18 @@ public class LocalDateConverter extends TemporalAccessConverter<LocalDate> {
         setDefaultDateTimeFormatter(_defaultFormatter);
     }
 
-    synchronized public LocalDate fromString(String string, String pattern) {
-        return LocalDate.from(DateTimeFormatter.ofPattern(pattern).parse(string));
+    /**
+     * Converts from a String to a LocalDate using the pattern. The pattern is compiled only once for all the calls.
+     *
+     * @param string  the string to be converted.
+     * @param pattern the pattern as in {@link DateTimeFormatter#ofPattern(String)}.
+     * @return the LocalDate.
+     */
+    public LocalDate fromString(String string, String pattern) {
+        DateTimeFormatter formatter = getDateTimeFormatter(pattern, Locale.getDefault(Locale.Category.FORMAT), null);
+        return LocalDate.from(formatter.parse(string));
     }
+
     /**
      * Converts from a String to a LocalDate. It will try all the SHORT, MEDIUM, LONG, FULL format as defined in
      * FormatStyle for the date. If failed, it will further try the following format in order until it found a match:
@@ -61,7 +70,7 @@ public class LocalDateConverter extends TemporalAccessConverter<LocalDate> {
      *         date, null will be returned.
      */
     @Override
-    synchronized public LocalDate fromString(String string, ConverterContext context) {
+    public LocalDate fromString(String string, ConverterContext context) {
         TemporalAccessor temporalAccessor = temporalFromString(string, context);
         if (temporalAccessor != null) {
             return LocalDate.from(temporalAccessor);
@@ -71,8 +80,8 @@ public class LocalDateConverter extends TemporalAccessConverter<LocalDate> {
             String[] formatStrings = {"M/d/yyyy", "MM/dd/yyyy", "MMM d, yy", "MMM d, yyyy", "MMMMM d, yyyy", "yyyy-MM-dd", "yy-MM-dd", "yyyyMMdd", "yyMMdd", "dd-MMM-yy", "d-MMM-yy", "dd-MMM-yyyy", "d-MMM-yyyy"}; //NON-NLS
             for (String formatString : formatStrings) {
                 try {
-                    DateTimeFormatter dtf = DateTimeFormatter.ofPattern(formatString);
-                    return LocalDate.from(dtf.withLocale(Locale.getDefault()).parse(string));
+                    DateTimeFormatter dtf = getDateTimeFormatter(formatString, Locale.getDefault(), null);
+                    return LocalDate.from(dtf.parse(string));
                 }
                 catch (Exception ignored) {
                     // empty on purpose
@@ -51,7 +51,7 @@ public class LocalDateTimeConverter extends TemporalAccessConverter<LocalDateTim
      *         as a date, null will be returned.
      */
     @Override
-    synchronized public LocalDateTime fromString(String string, ConverterContext context) {
+    public LocalDateTime fromString(String string, ConverterContext context) {
         TemporalAccessor temporalAccessor = temporalFromString(string, context);
         if (temporalAccessor != null) {
             return LocalDateTime.from(temporalAccessor);
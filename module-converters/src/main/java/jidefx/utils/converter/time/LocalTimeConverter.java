@@ -53,7 +53,7 @@ public class LocalTimeConverter extends TemporalAccessConverter<LocalTime> {
      *         date, null will be returned.
      */
     @Override
-    synchronized public LocalTime fromString(String string, ConverterContext context) {
+    public LocalTime fromString(String string, ConverterContext context) {
         TemporalAccessor temporalAccessor = temporalFromString(string, context);
         if (temporalAccessor != null) {
             return LocalTime.from(temporalAccessor);
@@ -22,7 +22,9 @@ package jidefx.utils.converter.time;
 
 import jidefx.utils.converter.ConverterContext;
 import jidefx.utils.converter.DefaultObjectConverter;
+import jidefx.utils.converter.ThreadSafeConverter;
 
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.Temporal;
 import java.time.temporal.TemporalAccessor;
@@ -31,15 +33,20 @@ import java.util.Locale;
 /**
  * Abstract implementations of {@link jidefx.utils.converter.ObjectConverter} for all the data types that extends {@link
  * TemporalAccessor}.
+ * <p>
+ * DateTimeFormatter is immutable, so the converters don't need to be synchronized and they are thread safe. The
+ * DateTimeFormatters compiled from the patterns are cached and shared by all the converters, see {@link
+ * #getDateTimeFormatter(String, Locale, ZoneId)}.
  */
-abstract public class TemporalAccessConverter<T extends Temporal> extends DefaultObjectConverter<T> {
+abstract public class TemporalAccessConverter<T extends Temporal> extends DefaultObjectConverter<T>
+        implements ThreadSafeConverter {
     /**
-     * A property for the converter context. You can set a {@link java.time.format.DateTimeFormatter} to it and the
-     * converter will use it to do the conversion.
+     * A property for the converter context. You can set a {@link java.time.format.DateTimeFormatter} or a pattern String
+     * as in {@link DateTimeFormatter#ofPattern(String)} to it and the converter will use it to do the conversion.
      */
     public static final String PROPERTY_DATE_TIME_FORMATTER = "DateTimeFormatter"; //NON-NLS
 
-    private DateTimeFormatter _defaultFormatter = null;
+    private volatile DateTimeFormatter _defaultFormatter = null;
 
     /**
      * Creates a TemporalConverter.
@@ -55,14 +62,14 @@ abstract public class TemporalAccessConverter<T extends Temporal> extends Defaul
      * @return the string
      */
     @Override
-    synchronized public String toString(T value, ConverterContext context) {
+    public String toString(T value, ConverterContext context) {
         if (value == null) {
             return "";
         }
         else {
-            Object formatter = context != null ? context.getProperties().get(PROPERTY_DATE_TIME_FORMATTER) : null;
-            if (formatter instanceof DateTimeFormatter) {
-                return ((DateTimeFormatter) formatter).withLocale(Locale.getDefault()).format(value);
+            DateTimeFormatter formatter = getContextDateTimeFormatter(context);
+            if (formatter != null) {
+                return formatter.withLocale(Locale.getDefault()).format(value);
             }
             else {
                 return getDefaultDateTimeFormatter().withLocale(Locale.getDefault()).format(value);
@@ -78,7 +85,7 @@ abstract public class TemporalAccessConverter<T extends Temporal> extends Defaul
      * @return the TemporalAccess. If the string is null or empty, null will be returned. If the string cannot be parsed
      *         as a date, null will be returned.
      */
-    synchronized public TemporalAccessor temporalFromString(String string, ConverterContext context) {
+    public TemporalAccessor temporalFromString(String string, ConverterContext context) {
         if (string == null) {
             return null;
         }
@@ -89,9 +96,9 @@ abstract public class TemporalAccessConverter<T extends Temporal> extends Defaul
         }
 
         try {
-            Object formatter = context != null ? context.getProperties().get(PROPERTY_DATE_TIME_FORMATTER) : null;
-            if (formatter instanceof DateTimeFormatter) {
-                return ((DateTimeFormatter) formatter).withLocale(Locale.getDefault()).parse(string);
+            DateTimeFormatter formatter = getContextDateTimeFormatter(context);
+            if (formatter != null) {
+                return formatter.withLocale(Locale.getDefault()).parse(string);
             }
             else {
                 return getDefaultDateTimeFormatter().withLocale(Locale.getDefault()).parse(string);
@@ -125,6 +132,39 @@ abstract public class TemporalAccessConverter<T extends Temporal> extends Defaul
         return null;
     }
 
+    /**
+     * Gets the DateTimeFormatter set on the converter context using {@link #PROPERTY_DATE_TIME_FORMATTER}.
+     *
+     * @param context the converter context.
+     * @return the DateTimeFormatter. Null if the context doesn't have one.
+     */
+    private DateTimeFormatter getContextDateTimeFormatter(ConverterContext context) {
+        Object formatter = context != null ? context.getProperties().get(PROPERTY_DATE_TIME_FORMATTER) : null;
+        if (formatter instanceof DateTimeFormatter) {
+            return (DateTimeFormatter) formatter;
+        }
+        else if (formatter instanceof String) {
+            return getDateTimeFormatter((String) formatter, Locale.getDefault(), null);
+        }
+        else {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the DateTimeFormatter for the pattern. It is the same as DateTimeFormatter.ofPattern(pattern,
+     * locale).withZone(zone) except the DateTimeFormatter is compiled only once and shared by all the converters.
+     *
+     * @param pattern the pattern
+     * @param locale  the locale
+     * @param zone    the zone. Null to not override the zone.
+     * @return the DateTimeFormatter.
+     * @throws IllegalArgumentException if the pattern is invalid.
+     */
+    protected DateTimeFormatter getDateTimeFormatter(String pattern, Locale locale, ZoneId zone) {
+        return DateTimeFormatterCache.getFormatter(pattern, locale, zone);
+    }
+
     abstract protected DateTimeFormatter getFullDateTimeFormatter();
 
     abstract protected DateTimeFormatter getLongDateTimeFormatter();
@@ -53,7 +53,7 @@ public class YearMonthConverter extends TemporalAccessConverter<YearMonth> {
      *         date, null will be returned.
      */
     @Override
-    synchronized public YearMonth fromString(String string, ConverterContext context) {
+    public YearMonth fromString(String string, ConverterContext context) {
         TemporalAccessor temporalAccessor = temporalFromString(string, context);
         if (temporalAccessor != null) {
             return YearMonth.from(temporalAccessor);
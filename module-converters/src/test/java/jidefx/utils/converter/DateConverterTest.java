@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2002-2015, JIDE Software Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jidefx.utils.converter;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class DateConverterTest {
+
+    private DateConverter _converter;
+    private Date _date;
+
+    @Before
+    public void setUp() throws Exception {
+        _converter = new DateConverter();
+        _date = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").parse("2015-03-14 15:09:26"); //NON-NLS
+    }
+
+    @Test
+    public void testToString() throws Exception {
+        Assert.assertEquals(DateFormat.getDateInstance().format(_date), _converter.toString(_date));
+        Assert.assertEquals(DateFormat.getTimeInstance().format(_date), _converter.toString(_date, DateConverter.CONTEXT_TIME));
+        Assert.assertEquals(DateFormat.getDateTimeInstance().format(_date), _converter.toString(_date, DateConverter.CONTEXT_DATETIME));
+    }
+
+    @Test
+    public void testFromString() throws Exception {
+        String text = DateFormat.getDateTimeInstance().format(_date);
+        Assert.assertEquals(_date, _converter.fromString(text, DateConverter.CONTEXT_DATETIME));
+        Assert.assertEquals(new SimpleDateFormat("yyyy-MM-dd").parse("2015-03-14"), _converter.fromString("2015-03-14")); //NON-NLS
+    }
+
+    @Test
+    public void testChangedFormat() throws Exception {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd"); //NON-NLS
+        _converter.setDefaultDateFormat(format);
+        Assert.assertEquals("2015-03-14", _converter.toString(_date));
+
+        // the same instance set again after it is changed
+        format.applyPattern("dd/MM/yyyy"); //NON-NLS
+        _converter.setDefaultDateFormat(format);
+        Assert.assertEquals("14/03/2015", _converter.toString(_date));
+
+        // changed through the getter, which takes effect once it is set again
+        SimpleDateFormat defaultFormat = (SimpleDateFormat) _converter.getDefaultDateFormat();
+        defaultFormat.applyPattern("yyyy"); //NON-NLS
+        Assert.assertEquals("14/03/2015", _converter.toString(_date));
+        _converter.setDefaultDateFormat(defaultFormat);
+        Assert.assertEquals("2015", _converter.toString(_date));
+    }
+
+    @Test
+    @SuppressWarnings("Convert2Lambda")
+    public void testConcurrentToString() throws Exception {
+        final List<Date> dates = new ArrayList<>();
+        Random random = new Random(0);
+        for (int i = 0; i < 2000; i++) {
+            dates.add(new Date(Math.abs(random.nextLong()) % 4000000000000L));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() throws Exception {
+                        DateFormat format = DateFormat.getDateTimeInstance();
+                        int mismatches = 0;
+                        for (int i = 0; i < 10; i++) {
+                            for (Date date : dates) {
+                                String text = _converter.toString(date, DateConverter.CONTEXT_DATETIME);
+                                if (!format.format(date).equals(text)) {
+                                    mismatches++;
+                                }
+                            }
+                        }
+                        return mismatches;
+                    }
+                }));
+            }
+            for (Future<Integer> future : futures) {
+                Assert.assertEquals(0, (int) future.get());
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+}
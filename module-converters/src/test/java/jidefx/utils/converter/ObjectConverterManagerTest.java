@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2002-2015, JIDE Software Inc. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package jidefx.utils.converter;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class ObjectConverterManagerTest {
+
+    private ObjectConverterManager _manager;
+
+    @Before
+    public void setUp() throws Exception {
+        _manager = ObjectConverterManager.createInstance();
+    }
+
+    @Test
+    public void testToStrings() throws Exception {
+        List<Object> values = Arrays.asList(1, null, 3);
+        String[] strings = _manager.toStrings(values, Integer.class, null, false);
+        Assert.assertEquals(3, strings.length);
+        for (int i = 0; i < strings.length; i++) {
+            String expected = _manager.toString(values.get(i), Integer.class, ConverterContext.CONTEXT_DEFAULT);
+            Assert.assertEquals(expected, strings[i]);
+        }
+    }
+
+    @Test
+    public void testToStringsParallel() throws Exception {
+        List<File> files = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            files.add(new File("file" + i)); //NON-NLS
+        }
+        String[] strings = _manager.toStrings(files, File.class, null, true);
+        for (int i = 0; i < strings.length; i++) {
+            Assert.assertEquals(files.get(i).getAbsolutePath(), strings[i]);
+        }
+    }
+
+    @Test
+    public void testAppendStrings() throws Exception {
+        StringBuilder buffer = new StringBuilder();
+        _manager.appendStrings(buffer, Arrays.asList("a", "b", "c"), String.class, null, ","); //NON-NLS
+        Assert.assertEquals("a,b,c", buffer.toString()); //NON-NLS
+    }
+
+    @Test
+    public void testFromStrings() throws Exception {
+        Object[] values = _manager.fromStrings(new String[]{"1", "", "3"}, int.class, null, true);
+        Assert.assertArrayEquals(new Object[]{1, null, 3}, values);
+    }
+}
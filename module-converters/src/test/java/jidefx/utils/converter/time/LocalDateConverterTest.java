@@ -20,6 +20,7 @@
  */
 package jidefx.utils.converter.time;
 
+import jidefx.utils.converter.ConverterContext;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -71,4 +72,20 @@ public class LocalDateConverterTest {
         _converter.setDefaultDateTimeFormatter(DateTimeFormatter.ofLocalizedDate(FormatStyle.MEDIUM));
         Assert.assertEquals("Jan 1, 2000", _converter.toString(LocalDate.of(2000, 1, 1)));
     }
+
+    @Test
+    public void testFromStringPattern() throws Exception {
+        Assert.assertEquals(LocalDate.of(2000, 1, 2), _converter.fromString("2000/01/02", "yyyy/MM/dd"));
+        Assert.assertEquals(LocalDate.of(2001, 2, 3), _converter.fromString("2001/02/03", "yyyy/MM/dd"));
+        Assert.assertSame(DateTimeFormatterCache.getFormatter("yyyy/MM/dd", Locale.US, null),
+                DateTimeFormatterCache.getFormatter("yyyy/MM/dd", Locale.US, null));
+    }
+
+    @Test
+    public void testContextPattern() throws Exception {
+        ConverterContext context = new ConverterContext("Pattern"); //NON-NLS
+        context.getProperties().put(TemporalAccessConverter.PROPERTY_DATE_TIME_FORMATTER, "dd.MM.yyyy");
+        Assert.assertEquals("02.01.2000", _converter.toString(LocalDate.of(2000, 1, 2), context));
+        Assert.assertEquals(LocalDate.of(2000, 1, 2), _converter.fromString("02.01.2000", context));
+    }
 }